@@ -0,0 +1,110 @@
+package io.mosip.print.test.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.constant.QrVersion;
+import io.mosip.print.service.impl.PDFGeneratorImpl;
+import io.mosip.print.service.impl.QrcodeGeneratorImpl;
+import io.mosip.print.spi.TemplateManager;
+import io.mosip.print.test.util.CredentialFixtures;
+import io.mosip.print.util.FaceImageNormalizer;
+import io.mosip.print.util.TemplateGenerator;
+
+/**
+ * The two rendering steps of the card: merging the UIN card template with
+ * the credential attributes, photo and QR code, and converting the merged
+ * HTML to PDF. The photo is a 1200 x 1600 capture, printed as captured or
+ * as normalized to the photo box by the faceNormalize stage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardRenderingBenchmark {
+
+	@Param({ "captured", "normalized" })
+	private String photo;
+
+	private TemplateManager templateManager;
+
+	private PDFGeneratorImpl pdfGenerator;
+
+	private byte[] template;
+
+	private Map<String, Object> attributes;
+
+	private byte[] mergedCard;
+
+	@Setup
+	public void setUp() throws Exception {
+		templateManager = new TemplateGenerator().getTemplateManager();
+		pdfGenerator = new PDFGeneratorImpl();
+		template = CredentialFixtures.resource(CredentialFixtures.CARD_TEMPLATE);
+		byte[] faceImage = CredentialFixtures.portraitJpeg(1200, 1600);
+		if ("normalized".equals(photo)) {
+			faceImage = normalizer().normalize(faceImage);
+		}
+		byte[] qrCode = new QrcodeGeneratorImpl().generateQrCode("{\"UIN\":\"4578312946\"}", QrVersion.V30);
+		attributes = new HashMap<>();
+		attributes.put("UIN", "4578312946");
+		attributes.put("fullName_eng", "Amina Rahmani");
+		attributes.put("dateOfBirth", "1987/04/23");
+		attributes.put("gender_eng", "Female");
+		attributes.put("addressLine1_eng", "14 Rue des Oliviers");
+		attributes.put("city_eng", "Kenitra");
+		attributes.put("region_eng", "Rabat Sale Kenitra");
+		attributes.put("postalCode", "14000");
+		attributes.put("notes", Arrays.asList("Issued 2021/03/12", "Valid until 2031/03/11"));
+		attributes.put("ApplicantPhoto", "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(faceImage));
+		attributes.put("QrCode", "data:image/png;base64," + Base64.getEncoder().encodeToString(qrCode));
+		mergedCard = IOUtils.toByteArray(templateManager.merge(new ByteArrayInputStream(template), attributes));
+	}
+
+	@Benchmark
+	public InputStream merge() throws Exception {
+		return templateManager.merge(new ByteArrayInputStream(template), attributes);
+	}
+
+	@Benchmark
+	public byte[] generatePdf() throws Exception {
+		OutputStream pdf = pdfGenerator.generate(new ByteArrayInputStream(mergedCard));
+		return ((ByteArrayOutputStream) pdf).toByteArray();
+	}
+
+	private static FaceImageNormalizer normalizer() throws ReflectiveOperationException {
+		FaceImageNormalizer normalizer = new FaceImageNormalizer();
+		Fixtures.setField(normalizer, "meterRegistry", new SimpleMeterRegistry());
+		Fixtures.setField(normalizer, "dpi", 300);
+		Fixtures.setField(normalizer, "widthMm", 35d);
+		Fixtures.setField(normalizer, "heightMm", 45d);
+		Fixtures.setField(normalizer, "jpegQuality", 0.85f);
+		Fixtures.setField(normalizer, "maxEntries", 1);
+		normalizer.init();
+		return normalizer;
+	}
+
+}
@@ -0,0 +1,98 @@
+package io.mosip.print.test.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.print.entity.BIR;
+import io.mosip.print.model.FaceImage;
+import io.mosip.print.service.impl.stage.ApplicantPhotoStage;
+import io.mosip.print.test.util.CredentialFixtures;
+import io.mosip.print.util.CbeffStreamReader;
+import io.mosip.print.util.CbeffValidator;
+
+/**
+ * Getting the applicant photo out of the biometrics: parsing the CBEFF
+ * document of a full registration (face, ten fingers, two irises), or
+ * streaming it for the face alone, and extracting the JPEG from the ISO
+ * 19794-5 face record. The
+ * {@code cardsWith*} pair compares the CBEFF parse with a shared JAXB
+ * context against a context built per card.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CbeffBenchmark {
+
+	private static final String FACE = "Face";
+
+	private ApplicantPhotoStage applicantPhotoStage;
+
+	private byte[] cbeffXml;
+
+	private byte[] faceRecord;
+
+	@Setup
+	public void setUp() throws Exception {
+		applicantPhotoStage = new ApplicantPhotoStage();
+		faceRecord = CredentialFixtures.faceRecord(CredentialFixtures.portraitJpeg(480, 640));
+		cbeffXml = CredentialFixtures.cbeffXml(faceRecord);
+	}
+
+	@Benchmark
+	public BIR getBIRFromXML() throws Exception {
+		return CbeffValidator.getBIRFromXML(cbeffXml);
+	}
+
+	/**
+	 * Cards per second through the CBEFF parse with the shared context and the
+	 * per-thread unmarshaller.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public BIR cardsWithSharedContext() throws Exception {
+		return CbeffValidator.getBIRFromXML(cbeffXml);
+	}
+
+	/**
+	 * The baseline: cards per second when every parse builds its own context,
+	 * as it was done before the context was shared.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public BIR cardsWithContextPerCard() throws Exception {
+		Unmarshaller unmarshaller = JAXBContext.newInstance(BIR.class).createUnmarshaller();
+		return unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(cbeffXml)), BIR.class).getValue();
+	}
+
+	@Benchmark
+	public byte[] getFirstBDB() throws Exception {
+		return CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(cbeffXml), FACE, Collections.emptyList());
+	}
+
+	@Benchmark
+	public FaceImage extractFaceImageData() {
+		return applicantPhotoStage.extractFaceImageData(faceRecord);
+	}
+
+}
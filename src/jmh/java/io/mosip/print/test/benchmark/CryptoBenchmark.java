@@ -0,0 +1,88 @@
+package io.mosip.print.test.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.test.util.CredentialFixtures;
+import io.mosip.print.util.CryptoCoreUtil;
+import io.mosip.print.util.CryptoEngine;
+import io.mosip.print.util.PartnerKeyManager;
+import io.mosip.print.util.SessionKeyCache;
+
+/**
+ * Decryption of the credential received from the datashare: RSA-OAEP unwrap
+ * of the session key with the partner key, then AES-GCM over the payload.
+ * The payload sizes are a credential without biometrics, one with the face
+ * only and one with the full CBEFF. {@code decrypt} starts from the Base64
+ * text as received, with the key picked by thumbprint; run with
+ * {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoBenchmark {
+
+	@Param({ "4096", "65536", "1048576" })
+	private int credentialBytes;
+
+	private CryptoCoreUtil cryptoCoreUtil;
+
+	private PrivateKeyEntry partnerKey;
+
+	private byte[] encryptedCredential;
+
+	private String encodedCredential;
+
+	@Setup
+	public void setUp() throws Exception {
+		PartnerKeyManager keyManager = new PartnerKeyManager();
+		Fixtures.setField(keyManager, "meterRegistry", new SimpleMeterRegistry());
+		Fixtures.setField(keyManager, "fileName", CredentialFixtures.KEYSTORE);
+		Fixtures.setField(keyManager, "password", CredentialFixtures.KEYSTORE_PASSWORD);
+		Fixtures.setField(keyManager, "alias", CredentialFixtures.KEYSTORE_ALIAS);
+		Fixtures.setField(keyManager, "watch", false);
+		keyManager.init();
+		cryptoCoreUtil = new CryptoCoreUtil();
+		Fixtures.setField(cryptoCoreUtil, "isThumbprint", true);
+		Fixtures.setField(cryptoCoreUtil, "keyManager", keyManager);
+		Fixtures.setField(cryptoCoreUtil, "cryptoEngine", new CryptoEngine());
+		// left disabled, so every operation pays the RSA unwrap
+		Fixtures.setField(cryptoCoreUtil, "sessionKeyCache", new SessionKeyCache());
+		partnerKey = keyManager.getDefaultKey();
+		byte[] cbeff = CredentialFixtures
+				.cbeffXml(CredentialFixtures.faceRecord(CredentialFixtures.portraitJpeg(480, 640)));
+		String credential = Fixtures.credentialJson(credentialBytes, cbeff);
+		encryptedCredential = CredentialFixtures.encryptForPartner(credential.getBytes(StandardCharsets.UTF_8),
+				partnerKey);
+		encodedCredential = Base64.getUrlEncoder().encodeToString(encryptedCredential);
+	}
+
+	@Benchmark
+	public String decrypt() {
+		return cryptoCoreUtil.decrypt(encodedCredential);
+	}
+
+	@Benchmark
+	public byte[] decryptData() {
+		return cryptoCoreUtil.decryptData(encryptedCredential, partnerKey);
+	}
+
+}
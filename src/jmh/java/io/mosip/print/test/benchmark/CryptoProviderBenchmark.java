@@ -0,0 +1,107 @@
+package io.mosip.print.test.benchmark;
+
+import java.security.KeyStore.PrivateKeyEntry;
+import java.security.SecureRandom;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.print.test.util.CredentialFixtures;
+import io.mosip.print.util.CryptoEngine;
+
+/**
+ * The primitives of {@link CryptoEngine} with the JDK provider and with
+ * BouncyCastle: RSA-OAEP unwrap of a session key with the partner key,
+ * AES-GCM over 64 KB and the PBKDF2 derivation of a PIN protected attribute.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoProviderBenchmark {
+
+	private static final int ITERATIONS = 100000;
+
+	@Param({ "SunJCE", "BC" })
+	private String provider;
+
+	private CryptoEngine cryptoEngine;
+
+	private PrivateKeyEntry partnerKey;
+
+	private byte[] wrappedKey;
+
+	private byte[] key;
+
+	private byte[] iv;
+
+	private byte[] cipherText;
+
+	private byte[] salt;
+
+	@Setup
+	public void setUp() throws Exception {
+		CryptoEngine.registerBouncyCastle();
+		cryptoEngine = new CryptoEngine();
+		Fixtures.setField(cryptoEngine, "rsaProvider", provider);
+		Fixtures.setField(cryptoEngine, "aesProvider", provider);
+		Fixtures.setField(cryptoEngine, "kdfProvider", provider);
+		cryptoEngine.init();
+
+		SecureRandom random = new SecureRandom();
+		partnerKey = CredentialFixtures.partnerKey();
+		key = new byte[32];
+		random.nextBytes(key);
+		Cipher rsa = Cipher.getInstance(CryptoEngine.RSA_OAEP);
+		rsa.init(Cipher.ENCRYPT_MODE, partnerKey.getCertificate().getPublicKey(), new OAEPParameterSpec("SHA-256",
+				"MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT));
+		wrappedKey = rsa.doFinal(key);
+
+		iv = new byte[12];
+		random.nextBytes(iv);
+		byte[] data = new byte[65536];
+		random.nextBytes(data);
+		Cipher aes = Cipher.getInstance(CryptoEngine.AES_GCM);
+		aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"),
+				new GCMParameterSpec(CryptoEngine.GCM_TAG_LENGTH, iv));
+		cipherText = aes.doFinal(data);
+
+		salt = new byte[32];
+		random.nextBytes(salt);
+	}
+
+	@Benchmark
+	public byte[] rsaOaepDecrypt() throws Exception {
+		return cryptoEngine.rsaOaepDecrypt(partnerKey.getPrivateKey(), wrappedKey, 0, wrappedKey.length);
+	}
+
+	@Benchmark
+	public byte[] aesGcmDecrypt() throws Exception {
+		return cryptoEngine.aesGcmDecryptor(key, iv, 0, iv.length).doFinal(cipherText);
+	}
+
+	@Benchmark
+	public byte[] deriveKey() throws Exception {
+		return cryptoEngine.deriveKey("PBKDF2WithHmacSHA512", Fixtures.PIN.toCharArray(), salt, ITERATIONS, 256);
+	}
+
+}
@@ -0,0 +1,63 @@
+package io.mosip.print.test.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Base64;
+
+/**
+ * Benchmark specific inputs. The credentials, CBEFF and face records come
+ * from {@link io.mosip.print.test.util.CredentialFixtures}.
+ */
+final class Fixtures {
+
+	static final String PIN = "482913";
+
+	private Fixtures() {
+	}
+
+	/**
+	 * Builds a decrypted credential subject. The biometrics are left out
+	 * below the given size, otherwise the CBEFF is padded in as base64 until
+	 * the document reaches it, as in a credential carrying the biometrics.
+	 */
+	static String credentialJson(int sizeBytes, byte[] cbeff) {
+		StringBuilder json = new StringBuilder(sizeBytes + 1024);
+		json.append("{\"id\":\"https://credential.mosip.io/credentials/8d0a5a40-7b1b-4d0e-9a5d-3c0f8ab4a6f1\",");
+		json.append("\"UIN\":\"4578312946\",\"fullName\":[{\"language\":\"eng\",\"value\":\"Amina Rahmani\"},");
+		json.append("{\"language\":\"ara\",\"value\":\"\u0623\u0645\u064a\u0646\u0629 \u0631\u062d\u0645\u0627\u0646\u064a\"}],");
+		json.append("\"dateOfBirth\":\"1987/04/23\",\"gender\":[{\"language\":\"eng\",\"value\":\"Female\"}],");
+		json.append("\"addressLine1\":[{\"language\":\"eng\",\"value\":\"14 Rue des Oliviers\"}],");
+		json.append("\"city\":[{\"language\":\"eng\",\"value\":\"Kenitra\"}],");
+		json.append("\"region\":[{\"language\":\"eng\",\"value\":\"Rabat Sale Kenitra\"}],");
+		json.append("\"postalCode\":\"14000\",\"phone\":\"9876543210\",\"email\":\"amina.rahmani@example.org\"");
+		int remaining = sizeBytes - json.length() - 20;
+		if (remaining > 0) {
+			String biometrics = Base64.getEncoder().encodeToString(cbeff);
+			json.append(",\"biometrics\":\"");
+			while (remaining > 0) {
+				int chunk = Math.min(remaining, biometrics.length());
+				json.append(biometrics, 0, chunk);
+				remaining -= chunk;
+			}
+			json.append('"');
+		}
+		json.append('}');
+		return json.toString();
+	}
+
+	/** Sets a field normally injected by Spring. */
+	static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+		Class<?> type = target.getClass();
+		while (type != null) {
+			try {
+				Field field = type.getDeclaredField(name);
+				field.setAccessible(true);
+				field.set(target, value);
+				return;
+			} catch (NoSuchFieldException e) {
+				type = type.getSuperclass();
+			}
+		}
+		throw new NoSuchFieldException(name);
+	}
+
+}
@@ -0,0 +1,58 @@
+package io.mosip.print.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.print.dto.CryptoWithPinRequestDto;
+import io.mosip.print.dto.CryptoWithPinResponseDto;
+import io.mosip.print.test.util.CredentialFixtures;
+import io.mosip.print.util.CryptoEngine;
+import io.mosip.print.util.CryptoUtil;
+
+/**
+ * Decryption of one PIN protected attribute with the default key derivation
+ * settings (PBKDF2WithHmacSHA512, 100000 iterations, 256 bit key).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PinCryptoBenchmark {
+
+	private static final int ITERATIONS = 100000;
+
+	private CryptoUtil cryptoUtil;
+
+	private CryptoWithPinRequestDto request;
+
+	@Setup
+	public void setUp() throws Exception {
+		cryptoUtil = new CryptoUtil();
+		Fixtures.setField(cryptoUtil, "cryptoEngine", new CryptoEngine());
+		Fixtures.setField(cryptoUtil, "symmetricKeyLength", 256);
+		Fixtures.setField(cryptoUtil, "iterations", ITERATIONS);
+		Fixtures.setField(cryptoUtil, "passwordAlgorithm", "PBKDF2WithHmacSHA512");
+		request = new CryptoWithPinRequestDto();
+		request.setData(CredentialFixtures.encryptWithPin(
+				"[{\"language\":\"eng\",\"value\":\"14 Rue des Oliviers\"}]", Fixtures.PIN, ITERATIONS));
+		request.setUserPin(Fixtures.PIN);
+	}
+
+	@Benchmark
+	public CryptoWithPinResponseDto decryptWithPin() throws Exception {
+		return cryptoUtil.decryptWithPin(request);
+	}
+
+}
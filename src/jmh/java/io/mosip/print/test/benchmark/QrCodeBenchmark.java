@@ -0,0 +1,65 @@
+package io.mosip.print.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.decoder.Version;
+
+import io.mosip.print.constant.QrVersion;
+import io.mosip.print.service.impl.QrcodeGeneratorImpl;
+
+/**
+ * QR code rendering of the card data for a range of versions. Each version
+ * is filled to about 90% of its byte mode capacity, as a card carrying the
+ * demographic data does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QrCodeBenchmark {
+
+	private static final String CARD_DATA = "{\"UIN\":\"4578312946\",\"fullName\":\"Amina Rahmani\","
+			+ "\"dateOfBirth\":\"1987/04/23\",\"gender\":\"Female\",\"addressLine1\":\"14 Rue des Oliviers\","
+			+ "\"city\":\"Kenitra\",\"region\":\"Rabat Sale Kenitra\",\"postalCode\":\"14000\"}";
+
+	@Param({ "V10", "V20", "V25", "V30", "V40" })
+	private QrVersion version;
+
+	private QrcodeGeneratorImpl qrcodeGenerator;
+
+	private String data;
+
+	@Setup
+	public void setUp() {
+		qrcodeGenerator = new QrcodeGeneratorImpl();
+		Version qrVersion = Version.getVersionForNumber(version.getVersion());
+		int dataBytes = qrVersion.getTotalCodewords()
+				- qrVersion.getECBlocksForLevel(ErrorCorrectionLevel.L).getTotalECCodewords() - 3;
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < dataBytes) {
+			builder.append(CARD_DATA);
+		}
+		data = builder.substring(0, dataBytes * 9 / 10);
+	}
+
+	@Benchmark
+	public byte[] generateQrCode() throws Exception {
+		return qrcodeGenerator.generateQrCode(data, version);
+	}
+
+}
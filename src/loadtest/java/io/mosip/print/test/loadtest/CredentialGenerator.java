@@ -0,0 +1,112 @@
+package io.mosip.print.test.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.print.test.util.CredentialFixtures;
+
+/**
+ * Generates verifiable credentials the way the credential service issues
+ * them to the print partner: the demographic attributes and the CBEFF of a
+ * full registration in {@code credentialSubject}, the attributes listed in
+ * {@code protectedAttributes} encrypted with the PIN, and the whole document
+ * encrypted for the key in {@code partner.p12}. The result is what the
+ * datashare returns, so {@code CryptoCoreUtil} and {@code CryptoUtil}
+ * decrypt it as they would a real one.
+ */
+public class CredentialGenerator {
+
+	private static final String[] PROTECTED_ATTRIBUTES = { "fullName", "dateOfBirth", "addressLine1" };
+
+	private static final String[] GIVEN_NAMES = { "Amina", "Youssef", "Salma", "Karim", "Nadia", "Omar", "Leila",
+			"Hassan" };
+
+	private static final String[] FAMILY_NAMES = { "Rahmani", "Benali", "El Idrissi", "Tazi", "Alaoui", "Chraibi" };
+
+	private static final String[] CITIES = { "Kenitra", "Rabat", "Sale", "Temara" };
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final PrivateKeyEntry partnerKey;
+
+	private final String pin;
+
+	private final int pinIterations;
+
+	private final String biometrics;
+
+	/**
+	 * @param pin           the PIN the protected attributes are encrypted with,
+	 *                      sent as {@code protectionKey} in the event
+	 * @param pinIterations the PBKDF2 iterations, which must match
+	 *                      {@code mosip.kernel.crypto.hash-iteration} of the
+	 *                      service
+	 */
+	public CredentialGenerator(String pin, int pinIterations) throws Exception {
+		this.partnerKey = CredentialFixtures.partnerKey();
+		this.pin = pin;
+		this.pinIterations = pinIterations;
+		byte[] cbeff = CredentialFixtures
+				.cbeffXml(CredentialFixtures.faceRecord(CredentialFixtures.portraitJpeg(480, 640)));
+		this.biometrics = Base64.getUrlEncoder().withoutPadding().encodeToString(cbeff);
+	}
+
+	/**
+	 * Generates the credential of one synthetic resident.
+	 *
+	 * @param index picks the resident's name, UIN and address
+	 * @return the encrypted credential, base64 URL encoded
+	 */
+	public String generate(int index) throws Exception {
+		ObjectNode subject = mapper.createObjectNode();
+		subject.put("id", "did:example:" + UUID.randomUUID());
+		subject.put("UIN", String.format("45%08d", index));
+		subject.put("fullName", localized(GIVEN_NAMES[index % GIVEN_NAMES.length] + " "
+				+ FAMILY_NAMES[index % FAMILY_NAMES.length]));
+		subject.put("gender", localized(index % 2 == 0 ? "Female" : "Male"));
+		subject.put("dateOfBirth", String.format("19%02d/%02d/%02d", 50 + index % 50, 1 + index % 12, 1 + index % 28));
+		subject.put("addressLine1", localized((index % 200 + 1) + " Rue des Oliviers"));
+		subject.put("city", localized(CITIES[index % CITIES.length]));
+		subject.put("region", localized("Rabat Sale Kenitra"));
+		subject.put("postalCode", String.valueOf(14000 + index % 100));
+		subject.put("phone", String.format("98%08d", index));
+		subject.put("email", "resident" + index + "@example.org");
+		subject.put("biometrics", biometrics);
+		for (String attribute : PROTECTED_ATTRIBUTES) {
+			subject.put(attribute, CredentialFixtures.encryptWithPin(subject.get(attribute).asText(), pin, pinIterations));
+		}
+
+		ObjectNode credential = mapper.createObjectNode();
+		credential.put("id", "https://credential.mosip.io/credentials/" + UUID.randomUUID());
+		credential.putArray("type").add("VerifiableCredential").add("MOSIPVerifiableCredential");
+		credential.put("issuer", "https://credential.mosip.io/issuers/");
+		credential.put("issuanceDate", "2021-03-12T10:15:30.512Z");
+		credential.put("issuedTo", "mpartner-default-print");
+		ArrayNode protectedAttributes = credential.putArray("protectedAttributes");
+		for (String attribute : PROTECTED_ATTRIBUTES) {
+			protectedAttributes.add(attribute);
+		}
+		credential.set("credentialSubject", subject);
+
+		byte[] encrypted = CredentialFixtures.encryptForPartner(
+				mapper.writeValueAsString(credential).getBytes(StandardCharsets.UTF_8), partnerKey);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(encrypted);
+	}
+
+	public String getPin() {
+		return pin;
+	}
+
+	private String localized(String value) throws Exception {
+		ArrayNode values = mapper.createArrayNode();
+		values.addObject().put("language", "eng").put("value", value);
+		return mapper.writeValueAsString(values);
+	}
+
+}
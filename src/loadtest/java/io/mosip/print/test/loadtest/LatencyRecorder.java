@@ -0,0 +1,40 @@
+package io.mosip.print.test.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/** Keeps every recorded latency so exact percentiles can be reported. */
+class LatencyRecorder {
+
+	private long[] values = new long[4096];
+
+	private int count;
+
+	synchronized void record(long nanos) {
+		if (count == values.length) {
+			values = Arrays.copyOf(values, count * 2);
+		}
+		values[count++] = nanos;
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	/**
+	 * Gets a percentile.
+	 *
+	 * @param percentile between 0 and 100
+	 * @return the latency in milliseconds, or 0 when nothing was recorded
+	 */
+	synchronized double percentileMillis(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(values, count);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * count) - 1;
+		return sorted[Math.max(0, Math.min(count - 1, index))] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+}
@@ -0,0 +1,211 @@
+package io.mosip.print.test.loadtest;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Fires signed credential events at the print callback at a fixed rate and
+ * measures two latencies: until the callback answers, and until the card is
+ * reported printed on the WebSub hub. The schedule is open loop and both
+ * latencies are taken from the time a request was due, not sent, so a
+ * service that falls behind shows up in the percentiles instead of slowing
+ * the driver down.
+ */
+public class LoadDriver {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+	private final URI callbackUri;
+
+	private final String secret;
+
+	private final String topic;
+
+	private final String signatureHeader;
+
+	private final String dataShareUrl;
+
+	private final int credentialCount;
+
+	private final String pin;
+
+	/** Due time of the events not yet reported printed, by transaction id. */
+	private final ConcurrentHashMap<String, Long> inFlight = new ConcurrentHashMap<>();
+
+	private final LatencyRecorder callbackLatency = new LatencyRecorder();
+
+	private final LatencyRecorder cardLatency = new LatencyRecorder();
+
+	private final LongAdder accepted = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final LongAdder failed = new LongAdder();
+
+	private final AtomicLong lastPrinted = new AtomicLong();
+
+	private long started;
+
+	private long sent;
+
+	/**
+	 * @param callbackUri     the print callback, e.g.
+	 *                        {@code http://localhost:8088/v1/print/print/callback/notifyPrint}
+	 * @param secret          the WebSub secret, {@code mosip.event.secret}
+	 * @param topic           the subscribed topic, {@code mosip.event.topic}
+	 * @param signatureHeader the header carrying the HMAC of the body
+	 * @param dataShareUrl    the stand-in datashare up to the credential number
+	 * @param credentialCount the number of credentials in the datashare pool
+	 * @param pin             the PIN of the protected attributes
+	 */
+	public LoadDriver(URI callbackUri, String secret, String topic, String signatureHeader, String dataShareUrl,
+			int credentialCount, String pin) {
+		this.callbackUri = callbackUri;
+		this.secret = secret;
+		this.topic = topic;
+		this.signatureHeader = signatureHeader;
+		this.dataShareUrl = dataShareUrl;
+		this.credentialCount = credentialCount;
+		this.pin = pin;
+	}
+
+	/**
+	 * Sends events for the given time, then waits for the outstanding cards.
+	 *
+	 * @param ratePerSecond the target event rate
+	 * @param duration      how long to send
+	 * @param drain         how long to wait for cards after the last event
+	 */
+	public void run(double ratePerSecond, Duration duration, Duration drain) throws Exception {
+		long interval = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+		started = System.nanoTime();
+		long end = started + duration.toNanos();
+		List<CompletableFuture<Void>> responses = new ArrayList<>();
+		for (long due = started; due < end; due += interval) {
+			long wait = due - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			responses.add(send((int) (sent++ % credentialCount), due));
+		}
+		long drainEnd = System.nanoTime() + drain.toNanos();
+		try {
+			CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(drain.toNanos(),
+					TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// counted as outstanding below
+		}
+		while (!inFlight.isEmpty() && System.nanoTime() < drainEnd) {
+			TimeUnit.MILLISECONDS.sleep(100);
+		}
+	}
+
+	/**
+	 * Records a card reported printed by the service.
+	 *
+	 * @param requestId the transaction id of the event
+	 */
+	public void printed(String requestId) {
+		Long due = inFlight.remove(requestId);
+		if (due != null) {
+			long now = System.nanoTime();
+			cardLatency.record(now - due);
+			lastPrinted.accumulateAndGet(now, Math::max);
+		}
+	}
+
+	public void report(PrintStream out) {
+		int printed = cardLatency.count();
+		double elapsed = (Math.max(lastPrinted.get(), started) - started) / (double) TimeUnit.SECONDS.toNanos(1);
+		out.printf("events sent %d, accepted %d, rejected (queue full) %d, failed %d, not printed %d%n", sent,
+				accepted.sum(), rejected.sum(), failed.sum(), inFlight.size());
+		out.printf("cards printed %d, %.1f cards/s%n", printed, elapsed > 0 ? printed / elapsed : 0);
+		out.printf("%-10s %8s %8s %8s %8s %8s%n", "latency ms", "p50", "p90", "p99", "p99.9", "max");
+		row(out, "callback", callbackLatency);
+		row(out, "card", cardLatency);
+	}
+
+	private void row(PrintStream out, String name, LatencyRecorder latency) {
+		out.printf("%-10s %8.1f %8.1f %8.1f %8.1f %8.1f%n", name, latency.percentileMillis(50),
+				latency.percentileMillis(90), latency.percentileMillis(99), latency.percentileMillis(99.9),
+				latency.percentileMillis(100));
+	}
+
+	private CompletableFuture<Void> send(int credential, long due) throws Exception {
+		String transactionId = UUID.randomUUID().toString();
+		byte[] body = event(credential, transactionId);
+		HttpRequest request = HttpRequest.newBuilder(callbackUri).timeout(Duration.ofSeconds(60))
+				.header("Content-Type", "application/json").header(signatureHeader, "sha256=" + sign(body))
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+		inFlight.put(transactionId, due);
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+			callbackLatency.record(System.nanoTime() - due);
+			int status = error == null ? response.statusCode() : -1;
+			if (status == 200 || status == 202) {
+				accepted.increment();
+			} else {
+				inFlight.remove(transactionId);
+				if (status == 503) {
+					rejected.increment();
+				} else {
+					failed.increment();
+				}
+			}
+			return null;
+		});
+	}
+
+	private byte[] event(int credential, String transactionId) throws Exception {
+		String now = Instant.now().toString();
+		ObjectNode eventModel = mapper.createObjectNode();
+		eventModel.put("publisher", "CREDENTIAL_SERVICE");
+		eventModel.put("topic", topic);
+		eventModel.put("publishedOn", now);
+		ObjectNode event = eventModel.putObject("event");
+		event.put("id", UUID.randomUUID().toString());
+		event.put("transactionId", transactionId);
+		event.putObject("type").put("namespace", "mosip").put("name", "mosip");
+		event.put("timestamp", now);
+		event.put("dataShareUri", dataShareUrl + credential);
+		ObjectNode data = event.putObject("data");
+		data.put("credentialType", "euin");
+		data.put("protectionKey", pin);
+		return mapper.writeValueAsBytes(eventModel);
+	}
+
+	private String sign(byte[] body) throws Exception {
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+		byte[] digest = mac.doFinal(body);
+		StringBuilder hex = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+}
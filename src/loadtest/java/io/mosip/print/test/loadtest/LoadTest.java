@@ -0,0 +1,81 @@
+package io.mosip.print.test.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End to end load test of a running print service. Starts the
+ * {@link StandInServer}, generates the credential pool, drives the callback
+ * with {@link LoadDriver} and prints throughput, latency percentiles and the
+ * calls each stand-in served.
+ * <p>
+ * Start the service against the stand-ins with
+ * {@code --spring.profiles.active=local1,loadtest --spring.config.additional-location=file:src/loadtest/resources/}
+ * and run with {@code mvn -Ploadtest test}. Settings are system properties:
+ * <ul>
+ * <li>{@code loadtest.target}: the callback URL; when empty only the
+ * stand-ins run, until the process is stopped</li>
+ * <li>{@code loadtest.rate}: events per second</li>
+ * <li>{@code loadtest.duration-seconds}, {@code loadtest.drain-seconds}</li>
+ * <li>{@code loadtest.port}: the stand-in port</li>
+ * <li>{@code loadtest.credentials}: the size of the credential pool</li>
+ * <li>{@code loadtest.pin-iterations}: must match
+ * {@code mosip.kernel.crypto.hash-iteration}</li>
+ * <li>{@code loadtest.secret}, {@code loadtest.topic},
+ * {@code loadtest.signature-header}: as subscribed by the service</li>
+ * <li>{@code loadtest.<service>.latency-ms}, {@code .jitter-ms},
+ * {@code .error-rate}: see {@link StandInService}</li>
+ * </ul>
+ */
+public class LoadTest {
+
+	public static void main(String[] args) throws Exception {
+		String target = System.getProperty("loadtest.target",
+				"http://localhost:8088/v1/print/print/callback/notifyPrint");
+		double rate = Double.parseDouble(System.getProperty("loadtest.rate", "10"));
+		long durationSeconds = Long.getLong("loadtest.duration-seconds", 60);
+		long drainSeconds = Long.getLong("loadtest.drain-seconds", 60);
+		int port = Integer.getInteger("loadtest.port", 9090);
+		int credentialCount = Integer.getInteger("loadtest.credentials", 20);
+		int pinIterations = Integer.getInteger("loadtest.pin-iterations", 100000);
+		String secret = System.getProperty("loadtest.secret", "Kslk30SNF2AChs2");
+		String topic = System.getProperty("loadtest.topic", "mpartner-default-print/CREDENTIAL_ISSUED");
+		String signatureHeader = System.getProperty("loadtest.signature-header", "X-Hub-Signature");
+
+		System.out.printf("generating %d credentials...%n", credentialCount);
+		CredentialGenerator generator = new CredentialGenerator("482913", pinIterations);
+		List<String> credentials = new ArrayList<>(credentialCount);
+		for (int i = 0; i < credentialCount; i++) {
+			credentials.add(generator.generate(i));
+		}
+
+		LoadDriver driver = new LoadDriver(target.isEmpty() ? null : URI.create(target), secret, topic,
+				signatureHeader, "http://localhost:" + port + "/v1/datashare/get/mpolicy-default-print/"
+						+ "mpartner-default-print/",
+				credentialCount, generator.getPin());
+		StandInServer server = new StandInServer(port, credentials, driver::printed);
+		server.start();
+		for (StandInService service : server.getServices()) {
+			System.out.println("stand-in " + service);
+		}
+		if (target.isEmpty()) {
+			System.out.printf("stand-ins listening on port %d%n", port);
+			Thread.currentThread().join();
+		}
+
+		System.out.printf("driving %s at %.1f events/s for %ds%n", target, rate, durationSeconds);
+		try {
+			driver.run(rate, Duration.ofSeconds(durationSeconds), Duration.ofSeconds(drainSeconds));
+			driver.report(System.out);
+			System.out.printf("%-16s %10s %10s%n", "stand-in", "requests", "errors");
+			for (StandInService service : server.getServices()) {
+				System.out.printf("%-16s %10d %10d%n", service.getName(), service.getRequests(), service.getErrors());
+			}
+		} finally {
+			server.stop();
+		}
+	}
+
+}
@@ -0,0 +1,198 @@
+package io.mosip.print.test.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.print.test.loadtest.StandInService.Response;
+import io.mosip.print.test.util.CredentialFixtures;
+
+/**
+ * Local stand-ins for every service the print service calls, on one port:
+ * <ul>
+ * <li>DATASHARE: {@code GET /v1/datashare/get/<policy>/<partner>/<n>} returns
+ * credential {@code n} of the pool</li>
+ * <li>TEMPLATES: {@code GET /v1/masterdata/templates/<lang>/<code>} returns the
+ * UIN card template</li>
+ * <li>PDFSIGN: {@code POST /v1/keymanager/pdf/sign} returns the PDF
+ * unchanged</li>
+ * <li>CREATEDATASHARE: {@code POST /v1/datashare/create/<policy>/<partner>}
+ * returns a datashare URL</li>
+ * <li>AUDIT: {@code POST /v1/auditmanager/audits}</li>
+ * <li>IDREPO: {@code GET /v1/idrepository/identity/...} returns a minimal
+ * identity</li>
+ * <li>WEBSUB: {@code POST /hub/} accepts subscriptions and publications; the
+ * "printing" status publications are reported to the listener</li>
+ * <li>AUTHMANAGER and the config server files the service reads at
+ * startup</li>
+ * </ul>
+ * Every service takes its latency and error injection settings from
+ * {@link StandInService#configured}. {@code application-loadtest.properties}
+ * points the print service at them.
+ */
+public class StandInServer {
+
+	/** Config server files, by the names the print configuration uses. */
+	private static final Map<String, String> CONFIG_FILES = new HashMap<>();
+
+	static {
+		CONFIG_FILES.put("identity-mapping.json", "/RegistrationProcessorIdentity.json");
+		CONFIG_FILES.put("registration-processor-print-text-file.json", "/printTextFileJson.json");
+		CONFIG_FILES.put("mosip-cbeff.xsd", "/loadtest/mosip-cbeff.xsd");
+	}
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final List<StandInService> services = new ArrayList<>();
+
+	private final AtomicLong dataShares = new AtomicLong();
+
+	private final int port;
+
+	private final List<String> credentials;
+
+	private final Consumer<String> printedListener;
+
+	private HttpServer server;
+
+	private ExecutorService executor;
+
+	/**
+	 * @param port            the port to listen on
+	 * @param credentials     the encrypted credentials served by the datashare
+	 * @param printedListener told the request id of every card the service
+	 *                        reports as printed
+	 */
+	public StandInServer(int port, List<String> credentials, Consumer<String> printedListener) {
+		this.port = port;
+		this.credentials = credentials;
+		this.printedListener = printedListener;
+	}
+
+	public void start() throws IOException {
+		byte[] template = CredentialFixtures.resource(CredentialFixtures.CARD_TEMPLATE);
+		server = HttpServer.create(new InetSocketAddress(port), 1024);
+		register("/v1/datashare/get/", StandInService.configured("DATASHARE", 20, this::dataShare));
+		register("/v1/masterdata/templates/", StandInService.configured("TEMPLATES", 10,
+				(exchange, body) -> template(new String(template, StandardCharsets.UTF_8))));
+		register("/v1/keymanager/pdf/sign", StandInService.configured("PDFSIGN", 80, this::pdfSign));
+		register("/v1/datashare/create/", StandInService.configured("CREATEDATASHARE", 30, this::createDataShare));
+		register("/v1/auditmanager/audits", StandInService.configured("AUDIT", 10,
+				(exchange, body) -> Response.json("{\"response\":{\"status\":true}}")));
+		register("/v1/idrepository/", StandInService.configured("IDREPO", 20, this::identity));
+		register("/hub/", StandInService.configured("WEBSUB", 10, this::hub));
+		register("/v1/authmanager/", StandInService.configured("AUTHMANAGER", 0, this::token));
+		register("/config/", StandInService.configured("CONFIG", 0, this::configFile));
+		// the stand-ins sleep to simulate latency, so each request needs its own thread
+		executor = Executors.newCachedThreadPool();
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	public List<StandInService> getServices() {
+		return Collections.unmodifiableList(services);
+	}
+
+	private void register(String path, StandInService service) {
+		services.add(service);
+		server.createContext(path, service);
+	}
+
+	private Response dataShare(HttpExchange exchange, byte[] body) {
+		String path = exchange.getRequestURI().getPath();
+		String id = path.substring(path.lastIndexOf('/') + 1);
+		if (id.startsWith("printed-")) {
+			return Response.text("");
+		}
+		return Response.text(credentials.get(Math.floorMod(Integer.parseInt(id), credentials.size())));
+	}
+
+	private Response template(String fileText) throws IOException {
+		ObjectNode response = mapper.createObjectNode();
+		ObjectNode template = response.putObject("response").putArray("templates").addObject();
+		template.put("id", "loadtest-uin-card");
+		template.put("name", "RPR_UIN_CARD_TEMPLATE");
+		template.put("fileFormatCode", "html");
+		template.put("templateTypeCode", "RPR_UIN_CARD_TEMPLATE");
+		template.put("langCode", "eng");
+		template.put("isActive", true);
+		template.put("fileText", fileText);
+		return Response.json(mapper.writeValueAsString(response));
+	}
+
+	private Response pdfSign(HttpExchange exchange, byte[] body) throws IOException {
+		JsonNode request = mapper.readTree(body).path("request");
+		ObjectNode response = mapper.createObjectNode();
+		response.putObject("response").put("data", request.path("data").asText());
+		return Response.json(mapper.writeValueAsString(response));
+	}
+
+	private Response createDataShare(HttpExchange exchange, byte[] body) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		String policyAndPartner = path.substring("/v1/datashare/create/".length());
+		ObjectNode response = mapper.createObjectNode();
+		ObjectNode dataShare = response.putObject("dataShare");
+		dataShare.put("url", "http://localhost:" + port + "/v1/datashare/get/" + policyAndPartner + "/printed-"
+				+ dataShares.incrementAndGet());
+		dataShare.put("validForInMinutes", 30);
+		dataShare.put("transactionsAllowed", 2);
+		return Response.json(mapper.writeValueAsString(response));
+	}
+
+	private Response identity(HttpExchange exchange, byte[] body) throws IOException {
+		ObjectNode response = mapper.createObjectNode();
+		ObjectNode identity = response.putObject("response").putObject("identity");
+		identity.put("UIN", "4500000001");
+		identity.put("IDSchemaVersion", 1.0);
+		return Response.json(mapper.writeValueAsString(response));
+	}
+
+	private Response hub(HttpExchange exchange, byte[] body) throws IOException {
+		// subscriptions are form encoded, publications are the JSON event
+		if (body.length > 0 && body[0] == '{') {
+			JsonNode event = mapper.readTree(body).path("event");
+			if ("printing".equals(event.path("status").asText())) {
+				printedListener.accept(event.path("requestId").asText());
+			}
+		}
+		return Response.json("{}");
+	}
+
+	private Response token(HttpExchange exchange, byte[] body) {
+		exchange.getResponseHeaders().add("Set-Cookie", "Authorization=loadtest-token; Path=/");
+		exchange.getResponseHeaders().add("authorization", "loadtest-token");
+		return Response.json("{\"response\":{\"status\":\"Success\",\"message\":\"loadtest token\"}}");
+	}
+
+	private Response configFile(HttpExchange exchange, byte[] body) throws IOException {
+		String path = exchange.getRequestURI().getPath();
+		String name = path.substring(path.lastIndexOf('/') + 1);
+		String resource = CONFIG_FILES.get(name);
+		if (resource == null) {
+			return new Response(404, "text/plain", new byte[0]);
+		}
+		return new Response(200, name.endsWith(".json") ? "application/json" : "application/xml",
+				CredentialFixtures.resource(resource));
+	}
+
+}
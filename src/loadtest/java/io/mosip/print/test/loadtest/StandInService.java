@@ -0,0 +1,158 @@
+package io.mosip.print.test.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.io.IOUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * One downstream service stood in by the load harness. Every request waits
+ * for the configured latency plus a random jitter, then a configured share of
+ * requests fails with a 500 and the rest get the responder's answer.
+ * <p>
+ * Configured with the system properties
+ * {@code loadtest.<name>.latency-ms}, {@code loadtest.<name>.jitter-ms} and
+ * {@code loadtest.<name>.error-rate} (0 to 1), where the name is lower case.
+ */
+public class StandInService implements HttpHandler {
+
+	/** Produces the answer to one request. */
+	public interface Responder {
+
+		Response respond(HttpExchange exchange, byte[] body) throws IOException;
+
+	}
+
+	/** A canned HTTP response. */
+	public static class Response {
+
+		private final int status;
+
+		private final String contentType;
+
+		private final byte[] body;
+
+		public Response(int status, String contentType, byte[] body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		public static Response json(String json) {
+			return new Response(200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+		}
+
+		public static Response text(String text) {
+			return new Response(200, "text/plain", text.getBytes(StandardCharsets.UTF_8));
+		}
+
+	}
+
+	private static final byte[] INJECTED_ERROR = ("{\"errors\":[{\"errorCode\":\"LOADTEST-500\","
+			+ "\"message\":\"failure injected by the load test stand-in\"}]}").getBytes(StandardCharsets.UTF_8);
+
+	private final String name;
+
+	private final long latencyMillis;
+
+	private final long jitterMillis;
+
+	private final double errorRate;
+
+	private final Responder responder;
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder errors = new LongAdder();
+
+	public StandInService(String name, long latencyMillis, long jitterMillis, double errorRate, Responder responder) {
+		this.name = name;
+		this.latencyMillis = latencyMillis;
+		this.jitterMillis = jitterMillis;
+		this.errorRate = errorRate;
+		this.responder = responder;
+	}
+
+	/**
+	 * Creates the service with its settings from the system properties.
+	 *
+	 * @param name           the service name, as in the print configuration
+	 * @param defaultLatency the latency used when none is configured
+	 * @param responder      produces the answers
+	 * @return the service
+	 */
+	public static StandInService configured(String name, long defaultLatency, Responder responder) {
+		String prefix = "loadtest." + name.toLowerCase() + ".";
+		return new StandInService(name, Long.getLong(prefix + "latency-ms", defaultLatency),
+				Long.getLong(prefix + "jitter-ms", defaultLatency / 4),
+				Double.parseDouble(System.getProperty(prefix + "error-rate", "0")), responder);
+	}
+
+	@Override
+	public void handle(HttpExchange exchange) throws IOException {
+		try {
+			Response response = respond(exchange);
+			exchange.getResponseHeaders().set("Content-Type", response.contentType);
+			exchange.sendResponseHeaders(response.status, response.body.length == 0 ? -1 : response.body.length);
+			if (response.body.length > 0) {
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(response.body);
+				}
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private Response respond(HttpExchange exchange) {
+		requests.increment();
+		try {
+			byte[] body;
+			try (InputStream in = exchange.getRequestBody()) {
+				body = IOUtils.toByteArray(in);
+			}
+			long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+			if (delay > 0) {
+				TimeUnit.MILLISECONDS.sleep(delay);
+			}
+			if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+				errors.increment();
+				return new Response(500, "application/json", INJECTED_ERROR);
+			}
+			return responder.respond(exchange, body);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new Response(503, "text/plain", new byte[0]);
+		} catch (IOException | RuntimeException e) {
+			errors.increment();
+			return new Response(500, "text/plain", String.valueOf(e).getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(latency=%dms, jitter=%dms, error-rate=%.3f)", name, latencyMillis, jitterMillis,
+				errorRate);
+	}
+
+}
@@ -0,0 +1,19 @@
+package io.mosip.print.constant;
+
+/**
+ * Outcome of one event of a batch callback.
+ */
+public enum BatchItemStatus {
+
+	/** Queued for printing. */
+	ACCEPTED,
+	/** Not queued because the print queue is full; retry later. */
+	REJECTED,
+	/** Missing the fields needed for printing. */
+	INVALID,
+	/** Printed. */
+	PRINTED,
+	/** Printing failed. */
+	FAILED;
+
+}
@@ -0,0 +1,55 @@
+package io.mosip.print.constant;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The encoding of the image in a face record, with the MIME type its decoder
+ * is looked up by.
+ */
+public enum FaceImageDataType {
+
+	JPEG("image/jpeg"),
+
+	JPEG2000("image/jp2"),
+
+	PNG("image/png"),
+
+	/** A type the record does not state, or that cannot be printed. */
+	UNKNOWN("application/octet-stream");
+
+	private final String mimeType;
+
+	FaceImageDataType(String mimeType) {
+		this.mimeType = mimeType;
+	}
+
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	/**
+	 * Recognizes the image from its signature, for records that do not state
+	 * their image type.
+	 *
+	 * @param image the image, from its position to its limit
+	 * @return the type, or {@link #UNKNOWN}
+	 */
+	public static FaceImageDataType detect(ByteBuffer image) {
+		int start = image.position();
+		int length = image.remaining();
+		if (length >= 3 && (image.get(start) & 0xff) == 0xff && (image.get(start + 1) & 0xff) == 0xd8
+				&& (image.get(start + 2) & 0xff) == 0xff) {
+			return JPEG;
+		}
+		if (length >= 8 && image.getLong(start) == 0x89504e470d0a1a0aL) {
+			return PNG;
+		}
+		// a JP2 file starts with its signature box, a bare codestream with SOC and SIZ
+		if ((length >= 12 && image.getLong(start) == 0x0000000c6a502020L && image.getInt(start + 8) == 0x0d0a870a)
+				|| (length >= 4 && image.getInt(start) == 0xff4fff51)) {
+			return JPEG2000;
+		}
+		return UNKNOWN;
+	}
+
+}
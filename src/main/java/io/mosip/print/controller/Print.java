@@ -1,8 +1,14 @@
 package io.mosip.print.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,8 +18,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.mosip.kernel.websub.api.annotation.PreAuthenticateContentAndVerifyIntent;
+import io.mosip.print.constant.BatchItemStatus;
+import io.mosip.print.dto.BatchItemStatusDto;
 import io.mosip.print.logger.PrintLogger;
 import io.mosip.print.model.EventModel;
+import io.mosip.print.service.EventJournal;
+import io.mosip.print.service.PrintQueueService;
 import io.mosip.print.service.PrintService;
 
 @RestController
@@ -23,10 +33,21 @@ public class Print {
 	/** The printservice. */
 	@Autowired
 	private PrintService printService;
+
+	/** The print queue service. */
+	@Autowired
+	private PrintQueueService printQueueService;
+
+	/** The event journal. */
+	@Autowired
+	private EventJournal eventJournal;
 	
 	@Value("${mosip.event.topic}")
 	private String topic;
 
+	@Value("${mosip.print.batch.max-size:1000}")
+	private int maxBatchSize;
+
 	Logger printLogger = PrintLogger.getLogger(Print.class);
 
 
@@ -41,9 +62,98 @@ public class Print {
 	@PreAuthenticateContentAndVerifyIntent(secret = "${mosip.event.secret}", callback = "/v1/print/print/callback/notifyPrint", topic = "${mosip.event.topic}")
 	public ResponseEntity<String> handleSubscribeEvent(@RequestBody EventModel eventModel) throws Exception {
 		printLogger.info("event recieved from websub"+", id: {}",eventModel.getEvent().getId());
-		boolean isPrinted = printService.generateCard(eventModel);
-		printLogger.info("printing status : {} for event id: {}",isPrinted,eventModel.getEvent().getId());
+		if (printQueueService.isEnabled()) {
+			return enqueue(eventModel);
+		}
+		long journalId = eventJournal.append(eventModel);
+		try {
+			boolean isPrinted = printService.generateCard(eventModel);
+			printLogger.info("printing status : {} for event id: {}",isPrinted,eventModel.getEvent().getId());
+		} finally {
+			eventJournal.complete(journalId);
+		}
 		return new ResponseEntity<>("request accepted.", HttpStatus.OK);
 	}
 
+	private ResponseEntity<String> enqueue(EventModel eventModel) {
+		if (!printQueueService.isValid(eventModel)) {
+			printLogger.error("invalid event recieved, id: {}", eventModel.getEvent().getId());
+			return new ResponseEntity<>("invalid event.", HttpStatus.BAD_REQUEST);
+		}
+		if (!printQueueService.submit(eventModel)) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(printQueueService.getRetryAfterSeconds()));
+			return new ResponseEntity<>("print queue is full, retry later.", headers, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+		return new ResponseEntity<>("request accepted.", HttpStatus.ACCEPTED);
+	}
+
+	/**
+	 * Accepts many events in one request. Every event is validated first, then
+	 * the valid ones are queued, or printed concurrently when the queue is off.
+	 *
+	 * @param eventModels
+	 * @return the status of each event, in request order
+	 * @throws Exception
+	 */
+	@PostMapping(path = "/callback/notifyPrintBatch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+	@PreAuthenticateContentAndVerifyIntent(secret = "${mosip.event.secret}", callback = "/v1/print/print/callback/notifyPrintBatch", topic = "${mosip.event.topic}")
+	public ResponseEntity<List<BatchItemStatusDto>> handleSubscribeEventBatch(@RequestBody List<EventModel> eventModels)
+			throws Exception {
+		printLogger.info("batch of {} events recieved from websub", eventModels.size());
+		if (eventModels.size() > maxBatchSize) {
+			printLogger.error("batch of {} events exceeds the limit of {}", eventModels.size(), maxBatchSize);
+			return new ResponseEntity<>(HttpStatus.PAYLOAD_TOO_LARGE);
+		}
+		List<BatchItemStatusDto> statuses = new ArrayList<>(eventModels.size());
+		List<EventModel> valid = new ArrayList<>(eventModels.size());
+		List<BatchItemStatusDto> validStatuses = new ArrayList<>(eventModels.size());
+		for (EventModel eventModel : eventModels) {
+			BatchItemStatusDto status = new BatchItemStatusDto();
+			if (eventModel != null && eventModel.getEvent() != null) {
+				status.setId(eventModel.getEvent().getId());
+				status.setTransactionId(eventModel.getEvent().getTransactionId());
+			}
+			if (printQueueService.isValid(eventModel)) {
+				valid.add(eventModel);
+				validStatuses.add(status);
+			} else {
+				status.setStatus(BatchItemStatus.INVALID);
+			}
+			statuses.add(status);
+		}
+		if (printQueueService.isEnabled()) {
+			boolean[] accepted = printQueueService.submitAll(valid);
+			for (int i = 0; i < accepted.length; i++) {
+				validStatuses.get(i).setStatus(accepted[i] ? BatchItemStatus.ACCEPTED : BatchItemStatus.REJECTED);
+			}
+			return new ResponseEntity<>(statuses, HttpStatus.ACCEPTED);
+		}
+		long[] journalIds = eventJournal.appendAll(valid);
+		List<CompletableFuture<Boolean>> results = new ArrayList<>(valid.size());
+		for (int i = 0; i < valid.size(); i++) {
+			final long journalId = journalIds[i];
+			CompletableFuture<Boolean> result;
+			try {
+				result = printService.generateCardAsync(valid.get(i));
+			} catch (RuntimeException e) {
+				// completes the journal entry and reports the event as failed, like any other failure
+				result = new CompletableFuture<>();
+				result.completeExceptionally(e);
+			}
+			results.add(result.whenComplete((isPrinted, e) -> eventJournal.complete(journalId)));
+		}
+		for (int i = 0; i < results.size(); i++) {
+			boolean isPrinted;
+			try {
+				isPrinted = results.get(i).get();
+			} catch (ExecutionException e) {
+				printLogger.error("printing failed for event id: {}", validStatuses.get(i).getId(), e.getCause());
+				isPrinted = false;
+			}
+			validStatuses.get(i).setStatus(isPrinted ? BatchItemStatus.PRINTED : BatchItemStatus.FAILED);
+		}
+		return new ResponseEntity<>(statuses, HttpStatus.OK);
+	}
+
 }
@@ -0,0 +1,21 @@
+package io.mosip.print.dto;
+
+import io.mosip.print.constant.BatchItemStatus;
+import lombok.Data;
+
+/**
+ * Status of one event of a batch callback, in request order.
+ */
+@Data
+public class BatchItemStatusDto {
+
+	/** The event id. */
+	private String id;
+
+	/** The transaction id. */
+	private String transactionId;
+
+	/** The status. */
+	private BatchItemStatus status;
+
+}
@@ -0,0 +1,20 @@
+package io.mosip.print.exception;
+
+public class EventJournalException extends BaseUncheckedException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EventJournalException(Throwable e) {
+		super(PlatformErrorMessages.PRT_EVENT_JOURNAL_EXCEPTION.getCode(),
+				PlatformErrorMessages.PRT_EVENT_JOURNAL_EXCEPTION.getMessage(), e);
+	}
+
+	public EventJournalException(String errorMessage) {
+		super(PlatformErrorMessages.PRT_EVENT_JOURNAL_EXCEPTION.getCode(), errorMessage);
+	}
+
+	public EventJournalException(String errorMessage, Throwable t) {
+		super(PlatformErrorMessages.PRT_EVENT_JOURNAL_EXCEPTION.getCode(), errorMessage, t);
+	}
+
+}
@@ -71,7 +71,10 @@ public enum PlatformErrorMessages {
 	CERTIFICATE_THUMBPRINT_ERROR(PlatformConstants.PRT_PRINT_PREFIX + "026", "certificate thumbprint failure"),
 	PRT_INVALID_KEY_EXCEPTION(PlatformConstants.PRT_PRINT_PREFIX + "027", "invalid key"),
 	PRT_PDF_SIGN_EXCEPTION(PlatformConstants.PRT_PRINT_PREFIX + "028", "error occured while signing pdf"),
-	PRT_UNKNOWN_DECRYPTION_EXCEPTION(PlatformConstants.PRT_PRINT_PREFIX + "029", "Unknown Error in data decryption.");
+	PRT_UNKNOWN_DECRYPTION_EXCEPTION(PlatformConstants.PRT_PRINT_PREFIX + "029", "Unknown Error in data decryption."),
+	PRT_EVENT_JOURNAL_EXCEPTION(PlatformConstants.PRT_PRINT_PREFIX + "030", "Event journal failure"),
+	PRT_INVALID_ENCRYPTED_DATA(PlatformConstants.PRT_PRINT_PREFIX + "031", "Malformed encrypted data"),
+	PRT_INVALID_FACE_RECORD(PlatformConstants.PRT_PRINT_PREFIX + "032", "Malformed face record");
 	
 
 
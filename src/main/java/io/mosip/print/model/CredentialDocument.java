@@ -0,0 +1,185 @@
+package io.mosip.print.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import io.mosip.print.exception.IdentityNotFoundException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.util.JsonUtil;
+import io.mosip.print.util.ProtectedAttributes;
+
+/**
+ * The decrypted credential, parsed once and read by every stage after it. The
+ * demographic attributes of its subject are Jackson nodes; the protected ones
+ * are served plain, decrypted the first time a stage reads them. The
+ * biometrics, most of the credential, are decoded only by the stage printing
+ * the photo.
+ */
+public class CredentialDocument {
+
+	private static final String CREDENTIAL_SUBJECT = "credentialSubject";
+
+	private static final String PROTECTED_ATTRIBUTES = "protectedAttributes";
+
+	private static final String BIOMETRICS = "biometrics";
+
+	private final ObjectNode credentialSubject;
+
+	private final EncodedCbeff biometrics;
+
+	private final List<String> protectedNames;
+
+	private ProtectedAttributes protectedAttributes = ProtectedAttributes.NONE;
+
+	private CredentialDocument(ObjectNode credentialSubject, EncodedCbeff biometrics, List<String> protectedNames) {
+		this.credentialSubject = credentialSubject;
+		this.biometrics = biometrics;
+		this.protectedNames = protectedNames;
+	}
+
+	/**
+	 * Parses the decrypted credential in one streaming pass. The demographic
+	 * attributes of the subject are read into a tree, its {@code biometrics}
+	 * are kept undecoded and every other part of the credential is skipped.
+	 *
+	 * @param credential the credential json
+	 * @return the document
+	 * @throws IOException if the credential is not valid json
+	 */
+	public static CredentialDocument parse(String credential) throws IOException {
+		ObjectNode credentialSubject = null;
+		EncodedCbeff biometrics = null;
+		List<String> protectedNames = new ArrayList<>();
+		try (JsonParser parser = JsonUtil.createParser(credential)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IdentityNotFoundException(PlatformErrorMessages.PRT_PIS_IDENTITY_NOT_FOUND.getMessage());
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				JsonToken value = parser.nextToken();
+				if (CREDENTIAL_SUBJECT.equals(field) && value == JsonToken.START_OBJECT) {
+					credentialSubject = JsonNodeFactory.instance.objectNode();
+					while (parser.nextToken() == JsonToken.FIELD_NAME) {
+						String name = parser.getCurrentName();
+						if (parser.nextToken() == JsonToken.VALUE_STRING && BIOMETRICS.equals(name)) {
+							biometrics = new EncodedCbeff(parser.getTextCharacters(), parser.getTextOffset(),
+									parser.getTextLength());
+						} else {
+							credentialSubject.set(name, parser.<JsonNode>readValueAsTree());
+						}
+					}
+				} else if (PROTECTED_ATTRIBUTES.equals(field) && value == JsonToken.START_ARRAY) {
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						protectedNames.add(parser.getValueAsString());
+						parser.skipChildren();
+					}
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		if (credentialSubject == null) {
+			throw new IdentityNotFoundException(PlatformErrorMessages.PRT_PIS_IDENTITY_NOT_FOUND.getMessage());
+		}
+		return new CredentialDocument(credentialSubject, biometrics, protectedNames);
+	}
+
+	/**
+	 * Gets the biometrics of the subject, still base64 encoded.
+	 *
+	 * @return the biometrics, or null if the subject has none
+	 */
+	public EncodedCbeff getBiometrics() {
+		return biometrics;
+	}
+
+	/**
+	 * Gets the still encrypted value of each protected attribute.
+	 *
+	 * @return the encrypted values, by attribute name
+	 */
+	public Map<String, String> getEncryptedAttributes() {
+		Map<String, String> encrypted = new LinkedHashMap<>();
+		for (String name : protectedNames) {
+			JsonNode value = credentialSubject.get(name);
+			if (value != null && value.isTextual()) {
+				encrypted.put(name, value.textValue());
+			}
+		}
+		return encrypted;
+	}
+
+	public ProtectedAttributes getProtectedAttributes() {
+		return protectedAttributes;
+	}
+
+	public void setProtectedAttributes(ProtectedAttributes protectedAttributes) {
+		this.protectedAttributes = protectedAttributes;
+	}
+
+	/**
+	 * Gets the names of the demographic attributes of the subject, that is all
+	 * of them but the biometrics.
+	 *
+	 * @return the names, in document order
+	 */
+	public List<String> getNames() {
+		List<String> names = new ArrayList<>(credentialSubject.size());
+		for (Iterator<String> it = credentialSubject.fieldNames(); it.hasNext();) {
+			names.add(it.next());
+		}
+		return names;
+	}
+
+	/**
+	 * Starts decrypting the protected attributes among the names, so they are
+	 * decrypted together rather than one by one as they are read.
+	 *
+	 * @param names the attributes about to be read
+	 */
+	public void prefetch(Collection<String> names) {
+		protectedAttributes.prefetch(names);
+	}
+
+	/**
+	 * Gets the plain value of an attribute.
+	 *
+	 * @param name the attribute name
+	 * @return the value, or null if the subject has no such attribute
+	 */
+	public JsonNode get(String name) {
+		if (protectedAttributes.isProtected(name)) {
+			String value = protectedAttributes.get(name);
+			return value == null ? NullNode.getInstance() : TextNode.valueOf(value);
+		}
+		if (biometrics != null && BIOMETRICS.equals(name)) {
+			return TextNode.valueOf(biometrics.toString());
+		}
+		return credentialSubject.get(name);
+	}
+
+	/**
+	 * Gets the plain value of an attribute as text.
+	 *
+	 * @param name the attribute name
+	 * @return the text, or null if the attribute is missing or null
+	 */
+	public String getText(String name) {
+		JsonNode value = get(name);
+		return value == null || value.isNull() ? null : value.asText();
+	}
+
+}
@@ -0,0 +1,88 @@
+package io.mosip.print.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.codec.binary.Base64;
+
+/**
+ * The base64 CBEFF of a credential's {@code biometrics}, kept as the bytes of
+ * its text and decoded the first time it is read. Paths that do not print the
+ * photo never pay for the decoding.
+ */
+public class EncodedCbeff {
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Released once decoded. */
+	private byte[] encoded;
+
+	private final int encodedLength;
+
+	private volatile byte[] decoded;
+
+	/**
+	 * Keeps the base64 text of a CBEFF.
+	 *
+	 * @param text   the characters holding the text
+	 * @param offset where the text starts
+	 * @param length the length of the text
+	 */
+	public EncodedCbeff(char[] text, int offset, int length) {
+		encoded = new byte[length];
+		for (int i = 0; i < length; i++) {
+			// base64, standard or url safe, is ascii
+			encoded[i] = (byte) text[offset + i];
+		}
+		encodedLength = length;
+	}
+
+	/**
+	 * Gets the length of the base64 text.
+	 *
+	 * @return the length, in characters
+	 */
+	public int getEncodedLength() {
+		return encodedLength;
+	}
+
+	/**
+	 * Gets the CBEFF xml, decoding it on the first call. The array is shared by
+	 * every caller and must not be modified.
+	 *
+	 * @return the CBEFF xml
+	 */
+	public byte[] decode() {
+		byte[] cbeff = decoded;
+		if (cbeff == null) {
+			lock.lock();
+			try {
+				cbeff = decoded;
+				if (cbeff == null) {
+					cbeff = Base64.decodeBase64(encoded);
+					decoded = cbeff;
+					encoded = null;
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		return cbeff;
+	}
+
+	/**
+	 * Gets the base64 text, for the rare reader wanting the attribute as text.
+	 * Once decoded, it is encoded again as standard base64.
+	 */
+	@Override
+	public String toString() {
+		lock.lock();
+		try {
+			return encoded != null ? new String(encoded, StandardCharsets.US_ASCII)
+					: Base64.encodeBase64String(decoded);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
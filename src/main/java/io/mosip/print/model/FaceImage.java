@@ -0,0 +1,86 @@
+package io.mosip.print.model;
+
+import java.nio.ByteBuffer;
+
+import io.mosip.print.constant.FaceImageDataType;
+
+/**
+ * One face image of a face record: a view of the image bytes in place in the
+ * record, with the type and size the record states for it. The bytes are
+ * shared with the record and must not be modified.
+ */
+public class FaceImage {
+
+	private final FaceImageDataType imageDataType;
+
+	private final int width;
+
+	private final int height;
+
+	private final ByteBuffer imageData;
+
+	/**
+	 * Wraps the image bytes, from their position to their limit, without
+	 * copying them.
+	 *
+	 * @param imageDataType the encoding of the image
+	 * @param width         the width in pixels, 0 if the record does not state it
+	 * @param height        the height in pixels, 0 if the record does not state it
+	 * @param imageData     the image bytes
+	 */
+	public FaceImage(FaceImageDataType imageDataType, int width, int height, ByteBuffer imageData) {
+		this.imageDataType = imageDataType;
+		this.width = width;
+		this.height = height;
+		this.imageData = imageData.slice();
+	}
+
+	/**
+	 * Wraps an image of whatever type its signature shows, e.g. an image that
+	 * was not read out of a face record.
+	 *
+	 * @param image the image bytes
+	 * @return the face image, of unknown size
+	 */
+	public static FaceImage of(byte[] image) {
+		ByteBuffer imageData = ByteBuffer.wrap(image);
+		return new FaceImage(FaceImageDataType.detect(imageData), 0, 0, imageData);
+	}
+
+	public FaceImageDataType getImageDataType() {
+		return imageDataType;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets a view of the image bytes, with its own position and limit.
+	 *
+	 * @return the image bytes
+	 */
+	public ByteBuffer getImageData() {
+		return imageData.duplicate();
+	}
+
+	public int getLength() {
+		return imageData.remaining();
+	}
+
+	/**
+	 * Copies the image bytes.
+	 *
+	 * @return the image
+	 */
+	public byte[] toByteArray() {
+		byte[] image = new byte[imageData.remaining()];
+		imageData.duplicate().get(image);
+		return image;
+	}
+
+}
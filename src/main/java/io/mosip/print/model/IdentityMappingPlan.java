@@ -0,0 +1,159 @@
+package io.mosip.print.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.print.util.JsonUtil;
+
+/**
+ * The identity mapping json compiled into the list of credential attributes
+ * the card template reads. Immutable once compiled, so one plan is shared by
+ * every card until the configuration is refreshed.
+ * <p>
+ * Each attribute is copied according to the shape of its value: a
+ * multi-language array gives one template attribute per supported language, a
+ * {@code {value}} object gives its value and any other value is copied as
+ * text.
+ */
+public class IdentityMappingPlan {
+
+	private static final String VALUE = "value";
+
+	private static final String LANGUAGE = "language";
+
+	private final List<String> attributes;
+
+	private final List<FieldAccessor> accessors;
+
+	private IdentityMappingPlan(List<String> attributes, List<FieldAccessor> accessors) {
+		this.attributes = attributes;
+		this.accessors = accessors;
+	}
+
+	/**
+	 * Compiles the demographic identity of the mapping json.
+	 *
+	 * @param identity      the demographic identity, each entry naming its
+	 *                      credential attributes in a comma separated
+	 *                      {@code value}
+	 * @param supportedLang the languages the template is printed in, comma
+	 *                      separated
+	 * @return the plan
+	 */
+	public static IdentityMappingPlan compile(JsonNode identity, String supportedLang) {
+		List<String> attributes = new ArrayList<>();
+		List<FieldAccessor> accessors = new ArrayList<>();
+		for (JsonNode mapping : identity) {
+			for (String attribute : mapping.path(VALUE).asText().split(",")) {
+				attributes.add(attribute);
+				accessors.add(new FieldAccessor(attribute, supportedLang));
+			}
+		}
+		return new IdentityMappingPlan(Collections.unmodifiableList(attributes),
+				Collections.unmodifiableList(accessors));
+	}
+
+	/**
+	 * Gets the credential attributes the plan reads.
+	 *
+	 * @return the attribute names, in mapping order
+	 */
+	public List<String> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * Copies the mapped attributes of the credential into the template
+	 * attributes.
+	 *
+	 * @param document   the credential
+	 * @param attributes the template attributes
+	 */
+	public void apply(CredentialDocument document, Map<String, Object> attributes) {
+		// decrypt the mapped protected attributes together, the others stay encrypted
+		document.prefetch(this.attributes);
+		for (FieldAccessor accessor : accessors) {
+			accessor.copy(document, attributes);
+		}
+	}
+
+	private static class FieldAccessor {
+
+		private final String attribute;
+
+		private final LanguageKeys languageKeys;
+
+		private FieldAccessor(String attribute, String supportedLang) {
+			this.attribute = attribute;
+			this.languageKeys = new LanguageKeys(attribute, supportedLang);
+		}
+
+		private void copy(CredentialDocument document, Map<String, Object> attributes) {
+			JsonNode value = document.get(attribute);
+			if (value == null || value.isNull()) {
+				return;
+			}
+			if (value.isArray()) {
+				copyLanguages(value, attributes);
+			} else if (value.isObject()) {
+				attributes.put(attribute, text(value.get(VALUE)));
+			} else if (value.isTextual()) {
+				String text = value.textValue();
+				JsonNode languages = isArrayText(text) ? parseArray(text) : null;
+				if (languages != null) {
+					copyLanguages(languages, attributes);
+				} else {
+					attributes.put(attribute, text);
+				}
+			} else {
+				attributes.put(attribute, value.toString());
+			}
+		}
+
+		private void copyLanguages(JsonNode values, Map<String, Object> attributes) {
+			for (JsonNode value : values) {
+				String language = text(value.get(LANGUAGE));
+				if (language == null) {
+					continue;
+				}
+				String key = languageKeys.get(language);
+				if (key != null) {
+					attributes.put(key, text(value.get(VALUE)));
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Multi-language attributes may come as the text of a json array.
+	 */
+	private static boolean isArrayText(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				return c == '[';
+			}
+		}
+		return false;
+	}
+
+	private static JsonNode parseArray(String text) {
+		try {
+			JsonNode node = JsonUtil.readTree(text);
+			return node.isArray() ? node : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static String text(JsonNode node) {
+		return node == null || node.isNull() ? null : node.asText();
+	}
+
+}
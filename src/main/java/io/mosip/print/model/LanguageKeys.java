@@ -0,0 +1,40 @@
+package io.mosip.print.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code <attribute>_<language>} keys of one multi-language attribute,
+ * built once for each printed language so printing a card builds no key
+ * strings. Immutable once built.
+ */
+class LanguageKeys {
+
+	private final Map<String, String> keys = new HashMap<>();
+
+	/**
+	 * Builds the keys of an attribute.
+	 *
+	 * @param attribute     the attribute name
+	 * @param supportedLang the printed languages, comma separated
+	 */
+	LanguageKeys(String attribute, String supportedLang) {
+		for (String language : supportedLang.split(",")) {
+			language = language.trim();
+			if (!language.isEmpty()) {
+				keys.put(language, attribute + "_" + language);
+			}
+		}
+	}
+
+	/**
+	 * Gets the key of the attribute in a language.
+	 *
+	 * @param language the language of the value
+	 * @return the key, or null if the language is not printed
+	 */
+	String get(String language) {
+		return keys.get(language);
+	}
+
+}
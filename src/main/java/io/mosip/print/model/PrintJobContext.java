@@ -0,0 +1,73 @@
+package io.mosip.print.model;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.mosip.print.dto.DataShare;
+import lombok.Data;
+
+/**
+ * State of one event as it moves through the print pipeline stages.
+ */
+@Data
+public class PrintJobContext {
+
+	private final EventModel eventModel;
+
+	private String requestId;
+
+	private String credentialType;
+
+	private String encryptionPin;
+
+	private String credential;
+
+	/** The Base64 text of a credential downloaded from datashare, as received. */
+	private byte[] encodedCredential;
+
+	/** Size of the received credential, in bytes, whether inline or downloaded. */
+	private long credentialSize;
+
+	private String decryptedCredential;
+
+	/** The decrypted credential, parsed once for the stages reading it. */
+	private CredentialDocument credentialDocument;
+
+	private String uin;
+
+	/** The base64 CBEFF of the credential, decoded when the photo is printed. */
+	private EncodedCbeff biometrics;
+
+	/** The face image of the ISO 19794-5 record, as captured. */
+	private FaceImage faceImage;
+
+	private String password;
+
+	private Map<String, Object> attributes = new LinkedHashMap<>();
+
+	private Map<String, byte[]> artifacts = new HashMap<>();
+
+	/** The card template, before the attributes are merged into it. */
+	private String templateText;
+
+	private InputStream template;
+
+	private byte[] pdf;
+
+	private DataShare dataShare;
+
+	/** Set once the credential passed verification, or when verification is off. */
+	private boolean verified;
+
+	/** Set when the job stops without error, e.g. the credential failed verification. */
+	private boolean aborted;
+
+	private Throwable error;
+
+	public boolean isQrCode() {
+		return "qrcode".equalsIgnoreCase(credentialType);
+	}
+
+}
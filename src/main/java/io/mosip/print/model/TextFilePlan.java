@@ -0,0 +1,152 @@
+package io.mosip.print.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The print text file json compiled into the list of credential attributes
+ * the text file holds. Immutable once compiled, so one plan is shared by every
+ * card until the configuration is refreshed.
+ * <p>
+ * The text file is streamed as UTF-8 straight into a byte array: a
+ * multi-language array gives one entry per supported language, a
+ * {@code {value}} object gives its value and any other value is written as
+ * text, or null if the credential does not have it.
+ */
+public class TextFilePlan {
+
+	private static final String VALUE = "value";
+
+	private static final String LANGUAGE = "language";
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private static final int INITIAL_BUFFER_LENGTH = 4 * 1024;
+
+	private final List<String> attributes;
+
+	private final List<LanguageKeys> languageKeys;
+
+	private TextFilePlan(List<String> attributes, List<LanguageKeys> languageKeys) {
+		this.attributes = attributes;
+		this.languageKeys = languageKeys;
+	}
+
+	/**
+	 * Compiles the print text file json.
+	 *
+	 * @param printTextFile the print text file json, each entry naming its
+	 *                      credential attributes in a comma separated text
+	 * @param supportedLang the languages the text file is printed in, comma
+	 *                      separated
+	 * @return the plan
+	 */
+	public static TextFilePlan compile(JsonNode printTextFile, String supportedLang) {
+		// an attribute named twice is written once, where it is first named
+		Set<String> names = new LinkedHashSet<>();
+		for (Iterator<JsonNode> it = printTextFile.elements(); it.hasNext();) {
+			names.addAll(Arrays.asList(it.next().asText().split(",")));
+		}
+		List<String> attributes = new ArrayList<>(names);
+		List<LanguageKeys> languageKeys = new ArrayList<>(attributes.size());
+		for (String attribute : attributes) {
+			languageKeys.add(new LanguageKeys(attribute, supportedLang));
+		}
+		return new TextFilePlan(Collections.unmodifiableList(attributes), Collections.unmodifiableList(languageKeys));
+	}
+
+	/**
+	 * Gets the credential attributes the plan reads.
+	 *
+	 * @return the attribute names, in text file order
+	 */
+	public List<String> getAttributes() {
+		return attributes;
+	}
+
+	/**
+	 * Writes the text file of the credential.
+	 *
+	 * @param document the credential
+	 * @return the text file, UTF-8 json
+	 * @throws IOException if the json cannot be written
+	 */
+	public byte[] write(CredentialDocument document) throws IOException {
+		// decrypt the printed protected attributes together, the others stay encrypted
+		document.prefetch(attributes);
+		ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_LENGTH);
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.setPrettyPrinter(new TextFilePrettyPrinter());
+			generator.writeStartObject();
+			for (int i = 0; i < attributes.size(); i++) {
+				writeAttribute(generator, attributes.get(i), languageKeys.get(i), document);
+			}
+			generator.writeEndObject();
+		}
+		return out.toByteArray();
+	}
+
+	private static void writeAttribute(JsonGenerator generator, String attribute, LanguageKeys languageKeys,
+			CredentialDocument document) throws IOException {
+		JsonNode value = document.get(attribute);
+		if (value != null && value.isArray()) {
+			for (JsonNode languageValue : value) {
+				String language = text(languageValue.get(LANGUAGE));
+				String key = language == null ? null : languageKeys.get(language);
+				if (key != null) {
+					generator.writeStringField(key, text(languageValue.get(VALUE)));
+				}
+			}
+		} else if (value != null && value.isObject()) {
+			generator.writeStringField(attribute, text(value.get(VALUE)));
+		} else {
+			generator.writeStringField(attribute, text(value));
+		}
+	}
+
+	private static String text(JsonNode node) {
+		return node == null || node.isNull() ? null : node.asText();
+	}
+
+	/**
+	 * Two space indented, with {@code "key": value} pairs on their own lines.
+	 */
+	private static class TextFilePrettyPrinter extends DefaultPrettyPrinter {
+
+		private static final long serialVersionUID = 1L;
+
+		private TextFilePrettyPrinter() {
+			indentObjectsWith(new DefaultIndenter("  ", "\n"));
+		}
+
+		private TextFilePrettyPrinter(TextFilePrettyPrinter base) {
+			super(base);
+		}
+
+		@Override
+		public DefaultPrettyPrinter createInstance() {
+			return new TextFilePrettyPrinter(this);
+		}
+
+		@Override
+		public void writeObjectFieldValueSeparator(JsonGenerator g) throws IOException {
+			g.writeRaw(": ");
+		}
+
+	}
+
+}
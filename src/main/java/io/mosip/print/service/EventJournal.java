@@ -0,0 +1,58 @@
+package io.mosip.print.service;
+
+import java.util.List;
+import java.util.Map;
+
+import io.mosip.print.model.EventModel;
+
+/**
+ * Local write-ahead journal of received print events. Every event is appended
+ * when the callback receives it and marked complete once printing finished, so
+ * events still in flight when the pod stops can be replayed on the next start.
+ */
+public interface EventJournal {
+
+	/** Id returned by {@link #append(EventModel)} when journaling is disabled. */
+	public static final long NOT_JOURNALED = -1L;
+
+	/**
+	 * Checks whether journaling is switched on.
+	 *
+	 * @return true, if events are journaled
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Appends the event to the journal. Returns once the record is durable
+	 * according to the configured sync mode.
+	 *
+	 * @param eventModel the received event
+	 * @return the journal id, or {@link #NOT_JOURNALED}
+	 */
+	public long append(EventModel eventModel);
+
+	/**
+	 * Appends the events to the journal, waiting for durability once for the
+	 * whole batch.
+	 *
+	 * @param eventModels the received events
+	 * @return the journal ids, in order, or {@link #NOT_JOURNALED}
+	 */
+	public long[] appendAll(List<EventModel> eventModels);
+
+	/**
+	 * Marks the journaled event as handled so it is not replayed.
+	 *
+	 * @param journalId the id returned by {@link #append(EventModel)}
+	 */
+	public void complete(long journalId);
+
+	/**
+	 * Gets the events that were journaled but never completed before the last
+	 * shutdown.
+	 *
+	 * @return the pending events keyed by journal id, in append order
+	 */
+	public Map<Long, EventModel> getPending();
+
+}
@@ -0,0 +1,23 @@
+package io.mosip.print.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import io.mosip.print.model.EventModel;
+
+/**
+ * Runs an event through the ordered {@link io.mosip.print.spi.PrintStage}
+ * beans, each on its own bounded executor.
+ */
+public interface PrintPipeline {
+
+	/**
+	 * Submits the event to the first applicable stage. Blocks while that stage's
+	 * queue is full.
+	 *
+	 * @param eventModel the received event
+	 * @return completes with true once the card is printed, false if a stage
+	 *         failed or stopped the job
+	 */
+	public CompletableFuture<Boolean> submit(EventModel eventModel);
+
+}
@@ -0,0 +1,52 @@
+package io.mosip.print.service;
+
+import java.util.List;
+
+import io.mosip.print.model.EventModel;
+
+/**
+ * Accept-and-queue front end for the notifyPrint callback. When enabled the
+ * callback only validates and enqueues the event, card generation runs on a
+ * bounded worker pool.
+ */
+public interface PrintQueueService {
+
+	/**
+	 * Checks whether asynchronous accept-and-queue mode is switched on.
+	 *
+	 * @return true, if the callback should enqueue instead of printing inline
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Checks that the event carries everything card generation needs.
+	 *
+	 * @param eventModel the received event
+	 * @return true, if the event can be queued
+	 */
+	public boolean isValid(EventModel eventModel);
+
+	/**
+	 * Queues the event for card generation.
+	 *
+	 * @param eventModel the received event
+	 * @return true, if accepted; false when the queue is full
+	 */
+	public boolean submit(EventModel eventModel);
+
+	/**
+	 * Queues the events for card generation, journaling them as one batch.
+	 *
+	 * @param eventModels the received events, already validated
+	 * @return per event, true if accepted; false when the queue was full
+	 */
+	public boolean[] submitAll(List<EventModel> eventModels);
+
+	/**
+	 * Gets the back-off hint returned to the hub when the queue is full.
+	 *
+	 * @return the retry after seconds
+	 */
+	public int getRetryAfterSeconds();
+
+}
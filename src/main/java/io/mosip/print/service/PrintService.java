@@ -1,5 +1,7 @@
 package io.mosip.print.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import io.mosip.print.model.EventModel;
 
 public interface PrintService {
@@ -14,6 +16,14 @@ public interface PrintService {
 	 */
 	public boolean generateCard(EventModel eventModel) throws Exception;
 
+	/**
+	 * Start generating the card without waiting for it.
+	 *
+	 * @param eventModel
+	 * @return completes with the printing status
+	 */
+	public CompletableFuture<Boolean> generateCardAsync(EventModel eventModel);
+
 	// Map<String, byte[]> getDocuments(String credentialSubject, String sign,
 	// String cardType,
 	// boolean isPasswordProtected);
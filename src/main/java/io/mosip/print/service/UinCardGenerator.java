@@ -27,4 +27,26 @@ public interface UinCardGenerator<I> {
 	 * @return the i
 	 */
 	public I generateUinCard(InputStream in, UinCardType type, String password) throws ApisResourceAccessException;
+
+	/**
+	 * Render uin card without signing it.
+	 *
+	 * @param in
+	 *            the in
+	 * @param type
+	 *            the type
+	 * @return the i
+	 */
+	public I renderUinCard(InputStream in, UinCardType type);
+
+	/**
+	 * Sign a rendered uin card.
+	 *
+	 * @param card
+	 *            the rendered card
+	 * @param password
+	 *            the password
+	 * @return the i
+	 */
+	public I signUinCard(I card, String password);
 }
@@ -1,5 +1,6 @@
 package io.mosip.print.service.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -9,12 +10,17 @@ import java.util.Map;
 import javax.annotation.PostConstruct;
 
 import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
 
 import io.mosip.print.entity.BIR;
+import io.mosip.print.logger.PrintLogger;
 import io.mosip.print.spi.CbeffUtil;
+import io.mosip.print.util.CbeffStreamReader;
 import io.mosip.print.util.CbeffValidator;
+import io.mosip.print.util.CbeffXSDValidator;
 
 /**
  * This class is used to create,update, validate and search Cbeff data.
@@ -24,6 +30,8 @@ import io.mosip.print.util.CbeffValidator;
 @Component
 public class CbeffImpl implements CbeffUtil {
 
+	private Logger printLogger = PrintLogger.getLogger(CbeffImpl.class);
+
 	/*
 	 * XSD storage path from config server
 	 */
@@ -53,6 +61,12 @@ public class CbeffImpl implements CbeffUtil {
 		try (InputStream xsdBytes = new URL(configServerFileStorageURL + schemaName).openStream()) {
 			xsd = IOUtils.toByteArray(xsdBytes);
 		}
+		try {
+			CbeffXSDValidator.compile(xsd);
+		} catch (SAXException e) {
+			// not needed to print, the error is raised again when validating
+			printLogger.error("CBEFF XSD " + schemaName + " could not be compiled", e);
+		}
 	}
 
 	/**
@@ -178,6 +192,21 @@ public class CbeffImpl implements CbeffUtil {
 		return CbeffValidator.getBIRDataFromXMLType(xmlBytes, type);
 	}
 
+	/**
+	 * Method used for getting the BDB of the first BIR with type and subType,
+	 * streaming the XML rather than unmarshalling every BIR.
+	 *
+	 * @param xmlBytes byte array of XML data
+	 * @param type     type
+	 * @param subType  subType
+	 * @return the decoded BDB, or null if no BIR matches
+	 * @throws Exception Exception
+	 */
+	@Override
+	public byte[] getFirstBDB(byte[] xmlBytes, String type, List<String> subType) throws Exception {
+		return CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(xmlBytes), type, subType);
+	}
+
 	
 
 	/*
@@ -0,0 +1,561 @@
+package io.mosip.print.service.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.exception.EventJournalException;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.service.EventJournal;
+
+/**
+ * Segmented, memory-mapped append-only journal.
+ * <p>
+ * Each segment is a pre-sized file mapped into memory. A record is laid out as
+ * {@code length + 1 | type | id | payload | crc32}; the length is written last
+ * so a torn write reads back as the zero-filled end of the segment. Appenders
+ * copy into the mapping and wait for a single flusher thread, which forces all
+ * dirty segments in one go and releases every appender that was waiting on
+ * that batch (group commit). Completion markers are not waited on: losing one only
+ * means the event is printed again after a crash.
+ * <p>
+ * Sealed segments with no pending events are deleted; segments that are
+ * mostly completed have their pending events copied forward and are deleted
+ * once the copies are durable.
+ * <p>
+ * All state is guarded by a {@link ReentrantLock}; appenders may be virtual
+ * threads, which a monitor would pin to their carrier while they wait for the
+ * flush.
+ */
+@Service
+public class EventJournalImpl implements EventJournal {
+
+	private Logger printLogger = PrintLogger.getLogger(EventJournalImpl.class);
+
+	private static final String SEGMENT_PREFIX = "print-journal-";
+
+	private static final String SEGMENT_SUFFIX = ".log";
+
+	private static final byte EVENT = 1;
+
+	private static final byte COMPLETE = 2;
+
+	/** length + type + id + crc. */
+	private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.journal.enabled:false}")
+	private boolean enabled;
+
+	@Value("${mosip.print.journal.dir:journal}")
+	private String journalDir;
+
+	@Value("${mosip.print.journal.segment-size-bytes:67108864}")
+	private int segmentSize;
+
+	@Value("${mosip.print.journal.fsync:true}")
+	private boolean fsync;
+
+	@Value("${mosip.print.journal.compaction-live-percent:25}")
+	private int compactionLivePercent;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Signalled when a record is written, wakes the flusher. */
+	private final Condition written = lock.newCondition();
+
+	/** Signalled when a batch of records is durable, wakes the appenders. */
+	private final Condition flushed = lock.newCondition();
+
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	private final Map<Long, Entry> live = new HashMap<>();
+
+	private final Map<Long, EventModel> pending = new LinkedHashMap<>();
+
+	private final List<Segment> dirty = new ArrayList<>();
+
+	private Segment active;
+
+	private long nextId;
+
+	private long writeTicket;
+
+	private long flushedTicket;
+
+	private volatile boolean running;
+
+	private Thread flusher;
+
+	private Timer appendTimer;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		File dir = new File(journalDir);
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new EventJournalException("Unable to create journal directory " + dir.getAbsolutePath());
+		}
+		try {
+			recover(dir);
+			active = openSegment(dir, segments.isEmpty() ? 0 : segments.lastKey() + 1);
+		} catch (IOException e) {
+			throw new EventJournalException(e);
+		}
+		appendTimer = Timer.builder("print.journal.append").description("Time to make a received event durable")
+				.register(meterRegistry);
+		meterRegistry.gauge("print.journal.pending", live, Map::size);
+		running = true;
+		flusher = new Thread(this::flushLoop, "print-journal-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+		printLogger.info("Event journal opened at {} with {} pending events", dir.getAbsolutePath(), pending.size());
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public long append(EventModel eventModel) {
+		return appendAll(Collections.singletonList(eventModel))[0];
+	}
+
+	@Override
+	public long[] appendAll(List<EventModel> eventModels) {
+		long[] ids = new long[eventModels.size()];
+		if (!running) {
+			Arrays.fill(ids, NOT_JOURNALED);
+			return ids;
+		}
+		long start = System.nanoTime();
+		byte[][] payloads = new byte[ids.length][];
+		try {
+			for (int i = 0; i < ids.length; i++) {
+				payloads[i] = mapper.writeValueAsBytes(eventModels.get(i));
+			}
+		} catch (IOException e) {
+			throw new EventJournalException(e);
+		}
+		long ticket = 0;
+		lock.lock();
+		try {
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = nextId++;
+				ticket = write(EVENT, ids[i], payloads[i], 0, payloads[i].length);
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (fsync) {
+			awaitFlushed(ticket);
+		}
+		appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		return ids;
+	}
+
+	@Override
+	public void complete(long journalId) {
+		if (journalId == NOT_JOURNALED || !running) {
+			return;
+		}
+		lock.lock();
+		try {
+			Entry entry = live.remove(journalId);
+			if (entry == null) {
+				return;
+			}
+			entry.segment.release(entry.length);
+			write(COMPLETE, journalId, null, 0, 0);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Map<Long, EventModel> getPending() {
+		lock.lock();
+		try {
+			pending.keySet().retainAll(live.keySet());
+			return Collections.unmodifiableMap(new LinkedHashMap<>(pending));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Drops the oldest sealed segments that no longer hold pending events,
+	 * copying forward the few pending events of sparse ones first. Only a prefix
+	 * of the log is ever dropped, because a segment can hold completion markers
+	 * for events written in the segments before it.
+	 */
+	@Scheduled(fixedDelayString = "${mosip.print.journal.compaction-interval-millis:60000}")
+	public void compact() {
+		if (!running) {
+			return;
+		}
+		List<Segment> dropped = new ArrayList<>();
+		long ticket = 0;
+		lock.lock();
+		try {
+			for (Segment segment : segments.values()) {
+				if (segment == active || (segment.liveCount > 0
+						&& segment.liveBytes * 100L >= (long) compactionLivePercent * segment.position)) {
+					break;
+				}
+				dropped.add(segment);
+			}
+			for (Segment segment : dropped) {
+				if (segment.liveCount == 0) {
+					continue;
+				}
+				for (Map.Entry<Long, Entry> e : live.entrySet()) {
+					Entry entry = e.getValue();
+					if (entry.segment == segment) {
+						byte[] payload = new byte[entry.length];
+						segment.read(entry.offset, payload);
+						segment.release(entry.length);
+						ticket = write(EVENT, e.getKey(), payload, 0, payload.length);
+					}
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (dropped.isEmpty()) {
+			return;
+		}
+		awaitFlushed(ticket);
+		lock.lock();
+		try {
+			for (Segment segment : dropped) {
+				segments.remove(segment.number);
+				delete(segment);
+			}
+		} finally {
+			lock.unlock();
+		}
+		printLogger.info("Event journal compacted {} segments", dropped.size());
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (!running) {
+			return;
+		}
+		lock.lock();
+		try {
+			running = false;
+			written.signalAll();
+			flushed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		flusher.join(TimeUnit.SECONDS.toMillis(10));
+		lock.lock();
+		try {
+			active.buffer.force();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes one record into the active segment, rolling over when it does not
+	 * fit. Must be called holding the lock.
+	 *
+	 * @return the ticket to wait on for durability
+	 */
+	private long write(byte type, long id, byte[] payload, int offset, int length) {
+		int recordSize = RECORD_OVERHEAD + length;
+		if (recordSize > segmentSize) {
+			throw new EventJournalException("Event of " + length + " bytes exceeds journal segment size");
+		}
+		if (active.position + recordSize > segmentSize) {
+			markDirty(active);
+			try {
+				active = openSegment(active.file.getParentFile(), active.number + 1);
+			} catch (IOException e) {
+				throw new EventJournalException(e);
+			}
+		}
+		int position = active.position;
+		MappedByteBuffer buffer = active.buffer;
+		CRC32 crc = new CRC32();
+		crc.update(type);
+		buffer.put(position + 4, type);
+		buffer.putLong(position + 5, id);
+		for (int i = 0; i < 8; i++) {
+			crc.update((int) (id >>> (56 - 8 * i)));
+		}
+		if (length > 0) {
+			crc.update(payload, offset, length);
+			ByteBuffer view = buffer.duplicate();
+			view.position(position + 13);
+			view.put(payload, offset, length);
+			live.put(id, new Entry(active, position, length));
+			active.retain(length);
+		}
+		buffer.putInt(position + 13 + length, (int) crc.getValue());
+		buffer.putInt(position, length + 1);
+		active.position += recordSize;
+		markDirty(active);
+		long ticket = ++writeTicket;
+		written.signal();
+		return ticket;
+	}
+
+	private void markDirty(Segment segment) {
+		if (!dirty.contains(segment)) {
+			dirty.add(segment);
+		}
+	}
+
+	private void awaitFlushed(long ticket) {
+		lock.lock();
+		try {
+			while (flushedTicket < ticket && running) {
+				try {
+					flushed.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void flushLoop() {
+		while (true) {
+			long target;
+			List<Segment> batch;
+			lock.lock();
+			try {
+				while (running && flushedTicket == writeTicket) {
+					try {
+						written.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				if (!running) {
+					flushed.signalAll();
+					return;
+				}
+				target = writeTicket;
+				batch = new ArrayList<>(dirty);
+				dirty.clear();
+			} finally {
+				lock.unlock();
+			}
+			for (Segment segment : batch) {
+				segment.buffer.force();
+			}
+			lock.lock();
+			try {
+				flushedTicket = target;
+				flushed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private void recover(File dir) throws IOException {
+		File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String number = file.getName().substring(SEGMENT_PREFIX.length(),
+					file.getName().length() - SEGMENT_SUFFIX.length());
+			segments.put(Long.parseLong(number), mapSegment(file, Long.parseLong(number), file.length()));
+		}
+		for (Segment segment : segments.values()) {
+			scan(segment);
+		}
+		Iterator<Segment> it = segments.values().iterator();
+		while (it.hasNext()) {
+			Segment segment = it.next();
+			if (segment.liveCount > 0) {
+				break;
+			}
+			it.remove();
+			delete(segment);
+		}
+		TreeMap<Long, Entry> ordered = new TreeMap<>(live);
+		for (Map.Entry<Long, Entry> e : ordered.entrySet()) {
+			Entry entry = e.getValue();
+			byte[] payload = new byte[entry.length];
+			entry.segment.read(entry.offset, payload);
+			try {
+				pending.put(e.getKey(), mapper.readValue(payload, EventModel.class));
+			} catch (IOException ex) {
+				printLogger.error("Dropping unreadable journal entry {}", e.getKey(), ex);
+				live.remove(e.getKey());
+				entry.segment.release(entry.length);
+			}
+		}
+	}
+
+	private void scan(Segment segment) {
+		MappedByteBuffer buffer = segment.buffer;
+		int capacity = buffer.capacity();
+		int position = 0;
+		while (position + RECORD_OVERHEAD <= capacity) {
+			int length = buffer.getInt(position) - 1;
+			if (length < 0 || position + RECORD_OVERHEAD + length > capacity) {
+				break;
+			}
+			byte type = buffer.get(position + 4);
+			long id = buffer.getLong(position + 5);
+			CRC32 crc = new CRC32();
+			crc.update(type);
+			for (int i = 0; i < 8; i++) {
+				crc.update((int) (id >>> (56 - 8 * i)));
+			}
+			ByteBuffer view = buffer.duplicate();
+			view.position(position + 13);
+			view.limit(position + 13 + length);
+			crc.update(view);
+			if ((int) crc.getValue() != buffer.getInt(position + 13 + length)) {
+				printLogger.warn("Torn journal record in {} at offset {}, ignoring the rest of the segment",
+						segment.file.getName(), position);
+				break;
+			}
+			Entry previous = live.remove(id);
+			if (previous != null) {
+				previous.segment.release(previous.length);
+			}
+			if (type == EVENT) {
+				live.put(id, new Entry(segment, position, length));
+				segment.retain(length);
+			}
+			nextId = Math.max(nextId, id + 1);
+			position += RECORD_OVERHEAD + length;
+		}
+		segment.position = position;
+	}
+
+	private Segment openSegment(File dir, long number) throws IOException {
+		File file = new File(dir, String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+		Segment segment = mapSegment(file, number, segmentSize);
+		segments.put(number, segment);
+		return segment;
+	}
+
+	private Segment mapSegment(File file, long number, long size) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+			if (raf.length() < size) {
+				raf.setLength(size);
+			}
+			return new Segment(number, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+		}
+	}
+
+	private void delete(Segment segment) {
+		dirty.remove(segment);
+		try {
+			Files.deleteIfExists(segment.file.toPath());
+		} catch (IOException e) {
+			printLogger.warn("Unable to delete journal segment {}", segment.file.getName(), e);
+		}
+	}
+
+	private static class Segment {
+
+		private final long number;
+
+		private final File file;
+
+		private final MappedByteBuffer buffer;
+
+		private int position;
+
+		private int liveCount;
+
+		private long liveBytes;
+
+		private Segment(long number, File file, MappedByteBuffer buffer) {
+			this.number = number;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+		private void retain(int length) {
+			liveCount++;
+			liveBytes += length;
+		}
+
+		private void release(int length) {
+			liveCount--;
+			liveBytes -= length;
+		}
+
+		private void read(int offset, byte[] target) {
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset + 13);
+			view.get(target);
+		}
+
+	}
+
+	private static class Entry {
+
+		private final Segment segment;
+
+		private final int offset;
+
+		private final int length;
+
+		private Entry(Segment segment, int offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+package io.mosip.print.service.impl;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.service.EventJournal;
+import io.mosip.print.service.PrintService;
+
+/**
+ * Prints the events left unfinished in the journal by the previous run. Runs
+ * once the application is ready, off the startup thread.
+ */
+@Component
+public class EventJournalReplayer {
+
+	private Logger printLogger = PrintLogger.getLogger(EventJournalReplayer.class);
+
+	@Autowired
+	private EventJournal eventJournal;
+
+	@Autowired
+	private PrintService printService;
+
+	@Async
+	@EventListener(ApplicationReadyEvent.class)
+	public void replay() {
+		if (!eventJournal.isEnabled()) {
+			return;
+		}
+		Map<Long, EventModel> pending = eventJournal.getPending();
+		if (pending.isEmpty()) {
+			return;
+		}
+		printLogger.info("Replaying {} journaled events", pending.size());
+		for (Map.Entry<Long, EventModel> entry : pending.entrySet()) {
+			EventModel eventModel = entry.getValue();
+			try {
+				boolean isPrinted = printService.generateCard(eventModel);
+				printLogger.info("replay printing status : {} for event id: {}", isPrinted,
+						eventModel.getEvent().getId());
+			} catch (Exception e) {
+				printLogger.error("replay printing failed for event id: {}", eventModel.getEvent().getId(), e);
+			} finally {
+				eventJournal.complete(entry.getKey());
+			}
+		}
+	}
+
+}
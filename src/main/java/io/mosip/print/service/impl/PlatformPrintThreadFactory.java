@@ -0,0 +1,22 @@
+package io.mosip.print.service.impl;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.spi.PrintStage.StageType;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Runs every pool on platform threads.
+ */
+@Component
+public class PlatformPrintThreadFactory implements PrintThreadFactory {
+
+	@Override
+	public ThreadFactory newThreadFactory(String namePrefix, StageType type) {
+		return new CustomizableThreadFactory(namePrefix);
+	}
+
+}
@@ -0,0 +1,536 @@
+package io.mosip.print.service.impl;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded work queue with priority lanes, used as the queue of the print
+ * worker pool.
+ * <p>
+ * Every job belongs to a lane. Within a lane, jobs leave in earliest deadline
+ * order. Lanes share the workers by weight (stride scheduling): a lane of
+ * weight 8 is served eight times as often as a lane of weight 1 while both
+ * have work, and no lane starves. A job found past its deadline when it is
+ * taken either runs anyway, is dropped, or is parked; parked jobs only run
+ * when every lane is empty. Parked jobs have a bound of their own and do not
+ * take up the capacity that fresh jobs are admitted against; past that bound
+ * the stalest parked job is dropped.
+ */
+public class PrintLaneQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+	/** What to do with a job that is past its deadline when a worker takes it. */
+	public enum ExpiredPolicy {
+		RUN, DROP, PARK
+	}
+
+	/** Told about jobs found past their deadline. */
+	public interface ExpiredListener {
+
+		/**
+		 * Called by the thread that took a job, after the queue lock is
+		 * released.
+		 *
+		 * @param job    the expired job
+		 * @param policy whether the job was dropped or parked
+		 */
+		void expired(Job job, ExpiredPolicy policy);
+
+	}
+
+	/**
+	 * A named class of jobs. A lane matches an event when the credential type
+	 * and the partner are in its lists; an empty list matches anything.
+	 */
+	public static class Lane {
+
+		private final String name;
+
+		private final int weight;
+
+		private final long slaMillis;
+
+		private final Set<String> credentialTypes;
+
+		private final Set<String> partners;
+
+		public Lane(String name, int weight, long slaMillis, Set<String> credentialTypes, Set<String> partners) {
+			this.name = name;
+			this.weight = Math.max(1, weight);
+			this.slaMillis = slaMillis;
+			this.credentialTypes = credentialTypes;
+			this.partners = partners;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getWeight() {
+			return weight;
+		}
+
+		public long getSlaMillis() {
+			return slaMillis;
+		}
+
+		public boolean matches(String credentialType, String partner) {
+			return (credentialTypes.isEmpty() || credentialTypes.contains(credentialType))
+					&& (partners.isEmpty() || partners.contains(partner));
+		}
+
+	}
+
+	/** A queued unit of work with its lane and absolute deadline. */
+	public abstract static class Job implements Runnable {
+
+		private final Lane lane;
+
+		private final long deadline;
+
+		private long sequence;
+
+		protected Job(Lane lane, long deadline) {
+			this.lane = lane;
+			this.deadline = deadline;
+		}
+
+		public Lane getLane() {
+			return lane;
+		}
+
+		/**
+		 * Gets the deadline.
+		 *
+		 * @return the deadline in epoch milliseconds
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+
+	}
+
+	private static final Comparator<Job> EARLIEST_DEADLINE = Comparator.comparingLong((Job job) -> job.deadline)
+			.thenComparingLong(job -> job.sequence);
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = lock.newCondition();
+
+	private final Condition notFull = lock.newCondition();
+
+	private final List<LaneState> lanes = new ArrayList<>();
+
+	private final PriorityQueue<Job> parked = new PriorityQueue<>(EARLIEST_DEADLINE);
+
+	private final int capacity;
+
+	private final int parkedCapacity;
+
+	private final ExpiredPolicy expiredPolicy;
+
+	private final ExpiredListener expiredListener;
+
+	/** Jobs waiting in the lanes; parked jobs are not counted. */
+	private int count;
+
+	private long sequence;
+
+	/** Pass of the lane served last; a lane that becomes busy starts here. */
+	private double virtualTime;
+
+	public PrintLaneQueue(List<Lane> lanes, int capacity, int parkedCapacity, ExpiredPolicy expiredPolicy,
+			ExpiredListener expiredListener) {
+		for (Lane lane : lanes) {
+			this.lanes.add(new LaneState(lane));
+		}
+		this.capacity = capacity;
+		this.parkedCapacity = parkedCapacity;
+		this.expiredPolicy = expiredPolicy;
+		this.expiredListener = expiredListener;
+	}
+
+	/**
+	 * Gets the lanes.
+	 *
+	 * @return the lanes, in configuration order
+	 */
+	public List<Lane> getLanes() {
+		List<Lane> result = new ArrayList<>(lanes.size());
+		for (LaneState state : lanes) {
+			result.add(state.lane);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Gets the number of jobs waiting in one lane.
+	 *
+	 * @param laneName the lane name
+	 * @return the number of jobs, not counting parked ones
+	 */
+	public int size(String laneName) {
+		lock.lock();
+		try {
+			for (LaneState state : lanes) {
+				if (state.lane.name.equals(laneName)) {
+					return state.jobs.size();
+				}
+			}
+			return 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of parked jobs.
+	 *
+	 * @return the number of jobs waiting for idle workers
+	 */
+	public int parkedSize() {
+		lock.lock();
+		try {
+			return parked.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean offer(Runnable task) {
+		Job job = asJob(task);
+		lock.lock();
+		try {
+			if (count >= capacity) {
+				return false;
+			}
+			enqueue(job);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void put(Runnable task) throws InterruptedException {
+		Job job = asJob(task);
+		lock.lockInterruptibly();
+		try {
+			while (count >= capacity) {
+				notFull.await();
+			}
+			enqueue(job);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+		Job job = asJob(task);
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (count >= capacity) {
+				if (nanos <= 0) {
+					return false;
+				}
+				nanos = notFull.awaitNanos(nanos);
+			}
+			enqueue(job);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Runnable poll() {
+		List<Expired> expired = new ArrayList<>();
+		lock.lock();
+		try {
+			return dequeue(expired);
+		} finally {
+			lock.unlock();
+			notifyExpired(expired);
+		}
+	}
+
+	@Override
+	public Runnable take() throws InterruptedException {
+		List<Expired> expired = new ArrayList<>();
+		lock.lockInterruptibly();
+		try {
+			Job job;
+			while ((job = dequeue(expired)) == null) {
+				notEmpty.await();
+			}
+			return job;
+		} finally {
+			lock.unlock();
+			notifyExpired(expired);
+		}
+	}
+
+	@Override
+	public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+		List<Expired> expired = new ArrayList<>();
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			Job job;
+			while ((job = dequeue(expired)) == null) {
+				if (nanos <= 0) {
+					return null;
+				}
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return job;
+		} finally {
+			lock.unlock();
+			notifyExpired(expired);
+		}
+	}
+
+	@Override
+	public Runnable peek() {
+		lock.lock();
+		try {
+			LaneState next = nextLane();
+			return next != null ? next.jobs.peek() : parked.peek();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Counts parked jobs too, so the queue is only empty once they have run. */
+	@Override
+	public int size() {
+		lock.lock();
+		try {
+			return count + parked.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int remainingCapacity() {
+		lock.lock();
+		try {
+			return capacity - count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		lock.lock();
+		try {
+			if (parked.remove(o)) {
+				return true;
+			}
+			boolean removed = false;
+			for (int i = 0; i < lanes.size() && !removed; i++) {
+				removed = lanes.get(i).jobs.remove(o);
+			}
+			if (removed) {
+				count--;
+				notFull.signal();
+			}
+			return removed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super Runnable> c, int maxElements) {
+		lock.lock();
+		try {
+			int drained = 0;
+			Job job;
+			while (drained < maxElements && (job = dequeue(null)) != null) {
+				c.add(job);
+				drained++;
+			}
+			return drained;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Weakly consistent: iterates over a snapshot. */
+	@Override
+	public Iterator<Runnable> iterator() {
+		List<Runnable> snapshot = new ArrayList<>();
+		lock.lock();
+		try {
+			for (LaneState state : lanes) {
+				snapshot.addAll(state.jobs);
+			}
+			snapshot.addAll(parked);
+		} finally {
+			lock.unlock();
+		}
+		Iterator<Runnable> it = snapshot.iterator();
+		return new Iterator<Runnable>() {
+
+			private Runnable last;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Runnable next() {
+				last = it.next();
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				PrintLaneQueue.this.remove(last);
+			}
+
+		};
+	}
+
+	private Job asJob(Runnable task) {
+		if (!(task instanceof Job)) {
+			throw new IllegalArgumentException("Only print jobs can be queued");
+		}
+		return (Job) task;
+	}
+
+	/** Must be called holding the lock. */
+	private void enqueue(Job job) {
+		LaneState state = stateOf(job.lane);
+		job.sequence = sequence++;
+		if (state.jobs.isEmpty()) {
+			state.pass = Math.max(state.pass, virtualTime);
+		}
+		state.jobs.add(job);
+		count++;
+		notEmpty.signal();
+	}
+
+	/**
+	 * Takes the next job: the earliest deadline of the lane with the lowest
+	 * pass, or a parked job when all lanes are empty. Must be called holding
+	 * the lock.
+	 *
+	 * @param expired collects the jobs found past their deadline, for the
+	 *                listener to be told once the lock is released; null to
+	 *                take jobs regardless of their deadline
+	 */
+	private Job dequeue(List<Expired> expired) {
+		long now = System.currentTimeMillis();
+		while (true) {
+			LaneState next = nextLane();
+			if (next == null) {
+				return parked.poll();
+			}
+			Job job = next.jobs.poll();
+			virtualTime = next.pass;
+			next.pass += 1.0 / next.lane.weight;
+			count--;
+			notFull.signal();
+			if (expired != null && expiredPolicy != ExpiredPolicy.RUN && job.deadline < now) {
+				if (expiredPolicy == ExpiredPolicy.PARK) {
+					park(job, expired);
+				} else {
+					expired.add(new Expired(job, ExpiredPolicy.DROP));
+				}
+				continue;
+			}
+			return job;
+		}
+	}
+
+	/** Parks the job, dropping the stalest parked job when they are at their bound. */
+	private void park(Job job, List<Expired> expired) {
+		if (parked.size() >= parkedCapacity) {
+			Job stalest = parked.peek();
+			if (stalest == null || EARLIEST_DEADLINE.compare(job, stalest) < 0) {
+				expired.add(new Expired(job, ExpiredPolicy.DROP));
+				return;
+			}
+			expired.add(new Expired(parked.poll(), ExpiredPolicy.DROP));
+		}
+		parked.add(job);
+		expired.add(new Expired(job, ExpiredPolicy.PARK));
+	}
+
+	private void notifyExpired(List<Expired> expired) {
+		for (Expired e : expired) {
+			expiredListener.expired(e.job, e.policy);
+		}
+	}
+
+	private LaneState nextLane() {
+		LaneState next = null;
+		for (LaneState state : lanes) {
+			if (!state.jobs.isEmpty() && (next == null || state.pass < next.pass)) {
+				next = state;
+			}
+		}
+		return next;
+	}
+
+	private LaneState stateOf(Lane lane) {
+		for (LaneState state : lanes) {
+			if (state.lane == lane) {
+				return state;
+			}
+		}
+		throw new IllegalArgumentException("Unknown lane " + lane.name);
+	}
+
+	/** A job found past its deadline, and what was done with it. */
+	private static class Expired {
+
+		private final Job job;
+
+		private final ExpiredPolicy policy;
+
+		private Expired(Job job, ExpiredPolicy policy) {
+			this.job = job;
+			this.policy = policy;
+		}
+
+	}
+
+	private static class LaneState {
+
+		private final Lane lane;
+
+		private final PriorityQueue<Job> jobs = new PriorityQueue<>(EARLIEST_DEADLINE);
+
+		private double pass;
+
+		private LaneState(Lane lane) {
+			this.lane = lane;
+		}
+
+	}
+
+}
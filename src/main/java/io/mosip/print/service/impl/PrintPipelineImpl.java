@@ -0,0 +1,245 @@
+package io.mosip.print.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.service.PrintPipeline;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.spi.PrintStage.StageType;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Stage-per-executor pipeline. Each {@link PrintStage} gets a fixed pool and a
+ * bounded queue; when a queue is full the thread handing work to it waits, so
+ * a slow stage pushes back on the stages before it instead of buffering
+ * without limit.
+ */
+@Service
+public class PrintPipelineImpl implements PrintPipeline {
+
+	private Logger printLogger = PrintLogger.getLogger(PrintPipelineImpl.class);
+
+	private static final String STAGE_PROPERTY_PREFIX = "mosip.print.pipeline.stage.";
+
+	/** Waits for room in the stage queue instead of rejecting. */
+	private static final RejectedExecutionHandler WAIT_FOR_ROOM = (task, executor) -> {
+		if (executor.isShutdown()) {
+			throw new RejectedExecutionException("print pipeline is shut down");
+		}
+		try {
+			executor.getQueue().put(task);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(e);
+		}
+	};
+
+	@Autowired
+	private List<PrintStage> stageBeans;
+
+	@Autowired
+	private Environment env;
+
+	@Autowired
+	private PrintThreadFactory printThreadFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.pipeline.cpu-concurrency:0}")
+	private int cpuConcurrency;
+
+	@Value("${mosip.print.pipeline.io-concurrency:16}")
+	private int ioConcurrency;
+
+	@Value("${mosip.print.pipeline.queue-capacity:100}")
+	private int queueCapacity;
+
+	@Value("${mosip.print.pipeline.shutdown-timeout-seconds:30}")
+	private int shutdownTimeoutSeconds;
+
+	private List<PrintStage> stages;
+
+	private List<ThreadPoolExecutor> executors;
+
+	private List<StageMetrics> stageMetrics;
+
+	private Timer jobSuccess;
+
+	private Timer jobFailure;
+
+	private DistributionSummary credentialSize;
+
+	private DistributionSummary pdfSize;
+
+	private Timer attributeDecryptionCpu;
+
+	@PostConstruct
+	public void init() {
+		stages = new ArrayList<>(stageBeans);
+		AnnotationAwareOrderComparator.sort(stages);
+		executors = new ArrayList<>(stages.size());
+		stageMetrics = new ArrayList<>(stages.size());
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (PrintStage stage : stages) {
+			int defaultConcurrency = stage.getType() == StageType.CPU ? (cpuConcurrency > 0 ? cpuConcurrency : cores)
+					: ioConcurrency;
+			int concurrency = env.getProperty(STAGE_PROPERTY_PREFIX + stage.getName() + ".concurrency", Integer.class,
+					defaultConcurrency);
+			int capacity = env.getProperty(STAGE_PROPERTY_PREFIX + stage.getName() + ".queue-capacity", Integer.class,
+					queueCapacity);
+			String threadPrefix = "print-" + stage.getType().name().toLowerCase() + "-" + stage.getName() + "-";
+			executors.add(new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(capacity), printThreadFactory.newThreadFactory(threadPrefix, stage.getType()),
+					WAIT_FOR_ROOM));
+			stageMetrics.add(new StageMetrics(stage));
+			printLogger.info("Print stage {} ({}) with {} threads and queue capacity {}", stage.getName(),
+					stage.getType(), concurrency, capacity);
+		}
+		jobSuccess = jobTimer("success");
+		jobFailure = jobTimer("failure");
+		credentialSize = DistributionSummary.builder("print.credential.size").baseUnit("bytes")
+				.description("Size of the received credential").publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+		pdfSize = DistributionSummary.builder("print.pdf.size").baseUnit("bytes")
+				.description("Size of the generated card").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+		attributeDecryptionCpu = Timer.builder("print.crypto.credential.cpu")
+				.description("CPU time spent decrypting the protected attributes of a credential")
+				.publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> submit(EventModel eventModel) {
+		CompletableFuture<Boolean> result = new CompletableFuture<>();
+		PrintJobContext context = new PrintJobContext(eventModel);
+		long start = System.nanoTime();
+		result.whenComplete((printed, error) -> record(context, Boolean.TRUE.equals(printed), start));
+		advance(context, 0, result);
+		return result;
+	}
+
+	/**
+	 * Hands the job to the next stage from {@code from} that should run, or
+	 * completes it when none is left.
+	 */
+	private void advance(PrintJobContext context, int from, CompletableFuture<Boolean> result) {
+		for (int i = from; i < stages.size() && !context.isAborted(); i++) {
+			PrintStage stage = stages.get(i);
+			boolean runs = context.getError() == null || stage.runsOnFailure();
+			if (runs && stage.isApplicable(context)) {
+				final int index = i;
+				final long handedOver = System.nanoTime();
+				try {
+					executors.get(i).execute(() -> run(context, index, handedOver, result));
+				} catch (RejectedExecutionException e) {
+					printLogger.error("Print stage {} rejected event id: {}", stage.getName(),
+							context.getEventModel().getEvent().getId(), e);
+					result.complete(false);
+				}
+				return;
+			}
+		}
+		result.complete(!context.isAborted() && context.getError() == null);
+	}
+
+	private void run(PrintJobContext context, int index, long handedOver, CompletableFuture<Boolean> result) {
+		PrintStage stage = stages.get(index);
+		StageMetrics metrics = stageMetrics.get(index);
+		long start = System.nanoTime();
+		metrics.wait.record(start - handedOver, TimeUnit.NANOSECONDS);
+		try {
+			stage.process(context);
+			metrics.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		} catch (Throwable e) {
+			metrics.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			printLogger.error("Print stage {} failed for event id: {}", stage.getName(),
+					context.getEventModel().getEvent().getId(), e);
+			if (context.getError() == null) {
+				context.setError(e);
+			}
+		}
+		advance(context, index + 1, result);
+	}
+
+	private void record(PrintJobContext context, boolean printed, long start) {
+		(printed ? jobSuccess : jobFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		if (context.getCredentialSize() > 0) {
+			credentialSize.record(context.getCredentialSize());
+		}
+		if (printed && context.getPdf() != null) {
+			pdfSize.record(context.getPdf().length);
+		}
+		if (context.getCredentialDocument() != null) {
+			long cpuNanos = context.getCredentialDocument().getProtectedAttributes().getCpuNanos();
+			if (cpuNanos > 0) {
+				attributeDecryptionCpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private Timer jobTimer(String outcome) {
+		return Timer.builder("print.job").tag("outcome", outcome).description("Time to run a job through the pipeline")
+				.publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownTimeoutSeconds);
+		for (int i = 0; i < executors.size(); i++) {
+			ThreadPoolExecutor executor = executors.get(i);
+			executor.shutdown();
+			if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+				printLogger.warn("Print stage {} did not drain, {} jobs dropped", stages.get(i).getName(),
+						executor.shutdownNow().size());
+			}
+		}
+	}
+
+	/** Timers of one stage: processing time by outcome, and time queued. */
+	private class StageMetrics {
+
+		private final Timer success;
+
+		private final Timer failure;
+
+		private final Timer wait;
+
+		private StageMetrics(PrintStage stage) {
+			success = stageTimer(stage, "success");
+			failure = stageTimer(stage, "failure");
+			wait = Timer.builder("print.stage.wait").tag("stage", stage.getName())
+					.description("Time a job waits for a stage thread").register(meterRegistry);
+		}
+
+		private Timer stageTimer(PrintStage stage, String outcome) {
+			return Timer.builder("print.stage")
+					.tags("stage", stage.getName(), "type", stage.getType().name().toLowerCase(), "outcome", outcome)
+					.description("Time spent in a print stage").publishPercentiles(0.5, 0.95, 0.99)
+					.register(meterRegistry);
+		}
+
+	}
+
+}
@@ -0,0 +1,338 @@
+package io.mosip.print.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.service.EventJournal;
+import io.mosip.print.service.PrintQueueService;
+import io.mosip.print.service.PrintService;
+import io.mosip.print.service.impl.PrintLaneQueue.ExpiredPolicy;
+import io.mosip.print.service.impl.PrintLaneQueue.Lane;
+import io.mosip.print.spi.PrintStage.StageType;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Bounded in-memory work queue in front of {@link PrintService#generateCard}.
+ * The callback thread only enqueues; a fixed pool of workers drains the queue.
+ * A full queue is reported back to the caller instead of blocking it.
+ * <p>
+ * Events are sorted into the lanes of a {@link PrintLaneQueue} by credential
+ * type and partner, and get a deadline of the event timestamp plus the lane's
+ * SLA.
+ */
+@Service
+public class PrintQueueServiceImpl implements PrintQueueService {
+
+	private Logger printLogger = PrintLogger.getLogger(PrintQueueServiceImpl.class);
+
+	private static final String CREDENTIAL = "credential";
+
+	private static final String CREDENTIAL_TYPE = "credentialType";
+
+	private static final String LANE_PROPERTY_PREFIX = "mosip.print.schedule.lane.";
+
+	private static final String DEFAULT_LANE = "default";
+
+	@Autowired
+	private PrintService printService;
+
+	@Autowired
+	private EventJournal eventJournal;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PrintThreadFactory printThreadFactory;
+
+	@Autowired
+	private Environment env;
+
+	@Value("${mosip.print.async.enabled:false}")
+	private boolean enabled;
+
+	@Value("${mosip.print.async.queue-capacity:1000}")
+	private int queueCapacity;
+
+	@Value("${mosip.print.async.worker-threads:8}")
+	private int workerThreads;
+
+	@Value("${mosip.print.async.retry-after-seconds:30}")
+	private int retryAfterSeconds;
+
+	@Value("${mosip.print.async.shutdown-timeout-seconds:30}")
+	private int shutdownTimeoutSeconds;
+
+	@Value("${mosip.print.schedule.lanes:}")
+	private String laneNames;
+
+	@Value("${mosip.print.schedule.default-sla-seconds:3600}")
+	private long defaultSlaSeconds;
+
+	@Value("${mosip.print.schedule.expired-policy:RUN}")
+	private ExpiredPolicy expiredPolicy;
+
+	@Value("${mosip.print.schedule.parked-capacity:1000}")
+	private int parkedCapacity;
+
+	private PrintLaneQueue queue;
+
+	private ThreadPoolExecutor executor;
+
+	private Timer waitTimer;
+
+	private Counter acceptedCounter;
+
+	private Counter rejectedCounter;
+
+	private final Map<String, Timer> laneTimers = new HashMap<>();
+
+	private final Map<String, Counter> expiredCounters = new HashMap<>();
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			return;
+		}
+		List<Lane> lanes = loadLanes();
+		for (Lane lane : lanes) {
+			laneTimers.put(lane.getName(), Timer.builder("print.schedule.latency").tags("lane", lane.getName())
+					.description("Time from enqueue to card generated, per lane").publishPercentiles(0.5, 0.95, 0.99)
+					.register(meterRegistry));
+			for (ExpiredPolicy policy : Arrays.asList(ExpiredPolicy.DROP, ExpiredPolicy.PARK)) {
+				expiredCounters.put(lane.getName() + policy,
+						Counter.builder("print.schedule.expired")
+								.tags("lane", lane.getName(), "action", policy.name().toLowerCase())
+								.description("Events found past their deadline").register(meterRegistry));
+			}
+		}
+		queue = new PrintLaneQueue(lanes, queueCapacity, parkedCapacity, expiredPolicy, this::expired);
+		for (Lane lane : lanes) {
+			meterRegistry.gauge("print.schedule.depth", Tags.of("lane", lane.getName()), queue,
+					q -> q.size(lane.getName()));
+		}
+		meterRegistry.gauge("print.schedule.parked", queue, PrintLaneQueue::parkedSize);
+		executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS, queue,
+				printThreadFactory.newThreadFactory("print-worker-", StageType.IO), new ThreadPoolExecutor.AbortPolicy());
+		meterRegistry.gauge("print.queue.depth", queue, BlockingQueue::size);
+		meterRegistry.gauge("print.queue.active", executor, ThreadPoolExecutor::getActiveCount);
+		waitTimer = Timer.builder("print.queue.wait").description("Time an event spends queued before a worker picks it up")
+				.register(meterRegistry);
+		acceptedCounter = Counter.builder("print.queue.accepted").register(meterRegistry);
+		rejectedCounter = Counter.builder("print.queue.rejected").description("Events refused because the queue was full")
+				.register(meterRegistry);
+		printLogger.info("Print queue started with capacity {} and {} workers", queueCapacity, workerThreads);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public boolean isValid(EventModel eventModel) {
+		if (eventModel == null || eventModel.getEvent() == null) {
+			return false;
+		}
+		Event event = eventModel.getEvent();
+		Map<String, Object> data = event.getData();
+		if (event.getId() == null || data == null || data.get("protectionKey") == null
+				|| data.get("credentialType") == null) {
+			return false;
+		}
+		boolean hasDataShareUri = event.getDataShareUri() != null && !event.getDataShareUri().isEmpty();
+		return hasDataShareUri || data.get(CREDENTIAL) != null;
+	}
+
+	@Override
+	public boolean submit(EventModel eventModel) {
+		return enqueue(eventModel, eventJournal.append(eventModel));
+	}
+
+	@Override
+	public boolean[] submitAll(List<EventModel> eventModels) {
+		long[] journalIds = eventJournal.appendAll(eventModels);
+		boolean[] accepted = new boolean[journalIds.length];
+		for (int i = 0; i < journalIds.length; i++) {
+			accepted[i] = enqueue(eventModels.get(i), journalIds[i]);
+		}
+		return accepted;
+	}
+
+	private boolean enqueue(EventModel eventModel, long journalId) {
+		Lane lane = laneOf(eventModel);
+		try {
+			executor.execute(new PrintJob(lane, eventTime(eventModel.getEvent()) + lane.getSlaMillis(), eventModel,
+					journalId));
+		} catch (RejectedExecutionException e) {
+			eventJournal.complete(journalId);
+			rejectedCounter.increment();
+			printLogger.warn("Print queue full, rejecting event id: {}", eventModel.getEvent().getId());
+			return false;
+		}
+		acceptedCounter.increment();
+		return true;
+	}
+
+	@Override
+	public int getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+	private void process(PrintJob job) {
+		EventModel eventModel = job.eventModel;
+		waitTimer.record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+		try {
+			boolean isPrinted = printService.generateCard(eventModel);
+			printLogger.info("printing status : {} for event id: {}", isPrinted, eventModel.getEvent().getId());
+		} catch (Exception e) {
+			printLogger.error("printing failed for event id: {}", eventModel.getEvent().getId(), e);
+		} finally {
+			eventJournal.complete(job.journalId);
+			laneTimers.get(job.getLane().getName()).record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void expired(PrintLaneQueue.Job expiredJob, ExpiredPolicy policy) {
+		PrintJob job = (PrintJob) expiredJob;
+		expiredCounters.get(job.getLane().getName() + policy).increment();
+		printLogger.warn("event id: {} in lane {} missed its deadline, {}", job.eventModel.getEvent().getId(),
+				job.getLane().getName(), policy == ExpiredPolicy.DROP ? "dropped" : "parked");
+		if (policy == ExpiredPolicy.DROP) {
+			eventJournal.complete(job.journalId);
+		}
+	}
+
+	/**
+	 * Picks the first configured lane matching the credential type and the
+	 * publishing partner.
+	 */
+	private Lane laneOf(EventModel eventModel) {
+		Map<String, Object> data = eventModel.getEvent().getData();
+		String credentialType = data == null || data.get(CREDENTIAL_TYPE) == null ? null
+				: data.get(CREDENTIAL_TYPE).toString();
+		List<Lane> lanes = queue.getLanes();
+		for (Lane lane : lanes) {
+			if (lane.matches(credentialType, eventModel.getPublisher())) {
+				return lane;
+			}
+		}
+		return lanes.get(lanes.size() - 1);
+	}
+
+	/**
+	 * Gets the event time from the ISO timestamp, falling back to now when it
+	 * is missing or unreadable.
+	 */
+	private long eventTime(Event event) {
+		String timestamp = event.getTimestamp();
+		if (timestamp != null) {
+			try {
+				return Instant.parse(timestamp).toEpochMilli();
+			} catch (DateTimeParseException e) {
+				try {
+					return LocalDateTime.parse(timestamp).toInstant(ZoneOffset.UTC).toEpochMilli();
+				} catch (DateTimeParseException ex) {
+					printLogger.debug("unreadable timestamp {} for event id: {}", timestamp, event.getId());
+				}
+			}
+		}
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Reads the lanes listed in {@code mosip.print.schedule.lanes}. A catch-all
+	 * {@code default} lane is added last unless configured explicitly.
+	 */
+	private List<Lane> loadLanes() {
+		Set<String> names = new LinkedHashSet<>(Arrays.asList(StringUtils.commaDelimitedListToStringArray(
+				StringUtils.trimAllWhitespace(laneNames))));
+		names.remove("");
+		names.remove(DEFAULT_LANE);
+		names.add(DEFAULT_LANE);
+		List<Lane> lanes = new ArrayList<>(names.size());
+		for (String name : names) {
+			String prefix = LANE_PROPERTY_PREFIX + name + ".";
+			boolean catchAll = DEFAULT_LANE.equals(name);
+			Lane lane = new Lane(name, env.getProperty(prefix + "weight", Integer.class, 1),
+					TimeUnit.SECONDS.toMillis(env.getProperty(prefix + "sla-seconds", Long.class, defaultSlaSeconds)),
+					catchAll ? new HashSet<>() : values(prefix + "credential-types"),
+					catchAll ? new HashSet<>() : values(prefix + "partners"));
+			lanes.add(lane);
+			printLogger.info("Print lane {} with weight {} and SLA {} ms", name, lane.getWeight(), lane.getSlaMillis());
+		}
+		return lanes;
+	}
+
+	private Set<String> values(String property) {
+		Set<String> values = new HashSet<>(Arrays.asList(
+				StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(env.getProperty(property, "")))));
+		values.remove("");
+		return values;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (executor == null) {
+			return;
+		}
+		executor.shutdown();
+		if (!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+			printLogger.warn("Print queue did not drain within {} seconds, {} events dropped", shutdownTimeoutSeconds,
+					executor.shutdownNow().size());
+		}
+	}
+
+	private class PrintJob extends PrintLaneQueue.Job {
+
+		private final EventModel eventModel;
+
+		private final long journalId;
+
+		private final long enqueuedAt = System.nanoTime();
+
+		private PrintJob(Lane lane, long deadline, EventModel eventModel, long journalId) {
+			super(lane, deadline);
+			this.eventModel = eventModel;
+			this.journalId = journalId;
+		}
+
+		@Override
+		public void run() {
+			process(this);
+		}
+
+	}
+
+}
@@ -89,15 +89,32 @@ public class UinCardGeneratorImpl implements UinCardGenerator<byte[]> {
 	public byte[] generateUinCard(InputStream in, UinCardType type, String password)
 			throws ApisResourceAccessException {
 		printLogger.debug("UinCardGeneratorImpl::generateUinCard()::entry");
-        byte[] pdfSignatured=null;
-		ByteArrayOutputStream out = null;
+		byte[] pdfSignatured = signUinCard(renderUinCard(in, type), password);
+		printLogger.debug("UinCardGeneratorImpl::generateUinCard()::exit");
+		return pdfSignatured;
+	}
+
+	@Override
+	public byte[] renderUinCard(InputStream in, UinCardType type) {
+		try {
+			ByteArrayOutputStream out = (ByteArrayOutputStream) pdfGenerator.generate(in);
+			return out.toByteArray();
+		} catch (IOException | PDFGeneratorException e) {
+			printLogger.error( e.getMessage(),e);
+			throw new PDFGeneratorException(PDFGeneratorExceptionCodeConstant.PDF_EXCEPTION.getErrorCode(),
+					PDFGeneratorExceptionCodeConstant.PDF_EXCEPTION.getErrorMessage() ,e);
+		}
+	}
+
+	@Override
+	public byte[] signUinCard(byte[] card, String password) {
+		byte[] pdfSignatured=null;
 		try {
-			out = (ByteArrayOutputStream) pdfGenerator.generate(in);
 			PDFSignatureRequestDto request = new PDFSignatureRequestDto(lowerLeftX, lowerLeftY, upperRightX,
 					upperRightY, reason, 1, password);
 			request.setApplicationId("KERNEL");
 		  	request.setReferenceId("SIGN");
-			request.setData(Base64.encodeBase64String(out.toByteArray()));
+			request.setData(Base64.encodeBase64String(card));
 		  	DateTimeFormatter format = DateTimeFormatter.ofPattern(env.getProperty(DATETIME_PATTERN));
 			LocalDateTime localdatetime = LocalDateTime
 					.parse(DateUtils.getUTCCurrentDateTimeString(env.getProperty(DATETIME_PATTERN)), format);
@@ -123,7 +140,7 @@ public class UinCardGeneratorImpl implements UinCardGenerator<byte[]> {
 
 			pdfSignatured = Base64.decodeBase64(signatureResponseDto.getData());
 
-		} catch (IOException | PDFGeneratorException e) {
+		} catch (IOException e) {
 			printLogger.error( e.getMessage(),e);
 			throw new PDFGeneratorException(PDFGeneratorExceptionCodeConstant.PDF_EXCEPTION.getErrorCode(),
 					PDFGeneratorExceptionCodeConstant.PDF_EXCEPTION.getErrorMessage() ,e);
@@ -132,8 +149,6 @@ public class UinCardGeneratorImpl implements UinCardGenerator<byte[]> {
 					printLogger.error(PlatformErrorMessages.PRT_PRT_PDF_SIGNATURE_EXCEPTION.name() , e.getMessage()
 			 ,e);
 					throw new PDFSignatureException(e); }
-			 
-		 	printLogger.debug("UinCardGeneratorImpl::generateUinCard()::exit");
 
 		return pdfSignatured;
 	}
@@ -0,0 +1,124 @@
+package io.mosip.print.service.impl.stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.constant.PDFGeneratorExceptionCodeConstant;
+import io.mosip.print.exception.BiometricException;
+import io.mosip.print.exception.ExceptionUtils;
+import io.mosip.print.exception.PDFGeneratorException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.EncodedCbeff;
+import io.mosip.print.model.FaceImage;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.CbeffUtil;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.CbeffToBiometricUtil;
+import io.mosip.print.util.FaceRecordParser;
+
+/**
+ * Extracts the face image from the CBEFF biometrics.
+ */
+@Component
+public class ApplicantPhotoStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(ApplicantPhotoStage.class);
+
+	/** The Constant FACE. */
+	private static final String FACE = "Face";
+
+	/** The cbeffutil. */
+	@Autowired
+	private CbeffUtil cbeffutil;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Timer cbeffParseTimer;
+
+	private Timer faceExtractTimer;
+
+	@PostConstruct
+	public void init() {
+		cbeffParseTimer = Timer.builder("print.step").tag("step", "cbeffParse")
+				.description("Time spent in a step of a print stage").register(meterRegistry);
+		faceExtractTimer = Timer.builder("print.step").tag("step", "faceExtract")
+				.description("Time spent in a step of a print stage").register(meterRegistry);
+	}
+
+	@Override
+	public String getName() {
+		return "photo";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 500;
+	}
+
+	@Override
+	public boolean isApplicable(PrintJobContext context) {
+		return !context.isQrCode();
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		boolean isPhotoSet = setApplicantPhoto(context.getBiometrics(), context);
+		if (!isPhotoSet) {
+			printLogger.debug(PlatformErrorMessages.PRT_PRT_APPLICANT_PHOTO_NOT_SET.name());
+		}
+	}
+
+	private boolean setApplicantPhoto(EncodedCbeff individualBio, PrintJobContext context) throws Exception {
+		boolean isPhotoSet = false;
+
+		if (individualBio != null) {
+			CbeffToBiometricUtil util = new CbeffToBiometricUtil(cbeffutil);
+			List<String> subtype = new ArrayList<>();
+			long start = System.nanoTime();
+			byte[] photoByte = util.getImageBytes(individualBio.decode(), FACE, subtype);
+			cbeffParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			if (photoByte != null) {
+				start = System.nanoTime();
+				FaceImage faceImage = extractFaceImageData(photoByte);
+				faceExtractTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				// embedded in the template by the faceNormalize stage
+				context.setFaceImage(faceImage);
+				isPhotoSet = true;
+			}
+		}
+		return isPhotoSet;
+	}
+
+	/**
+	 * Locates the face image in the ISO 19794-5 or 39794-5 record. The image is
+	 * a view of the record, not a copy.
+	 *
+	 * @param decodedBioValue the face record
+	 * @return the image of its first representation
+	 */
+	public FaceImage extractFaceImageData(byte[] decodedBioValue) {
+		try {
+			return FaceRecordParser.parseFirst(decodedBioValue);
+		} catch (BiometricException ex) {
+			throw new PDFGeneratorException(PDFGeneratorExceptionCodeConstant.PDF_EXCEPTION.getErrorCode(),
+					ex.getMessage() + ExceptionUtils.getStackTrace(ex));
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.constant.EventId;
+import io.mosip.print.constant.EventName;
+import io.mosip.print.constant.EventType;
+import io.mosip.print.constant.ModuleName;
+import io.mosip.print.constant.PlatformSuccessMessages;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.AuditLogRequestBuilder;
+
+/**
+ * Audits the outcome of card generation, on success and on failure, once the
+ * credential has passed verification.
+ */
+@Component
+public class AuditStage implements PrintStage {
+
+	/** The core audit request builder. */
+	@Autowired
+	private AuditLogRequestBuilder auditLogRequestBuilder;
+
+	@Override
+	public String getName() {
+		return "audit";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 1300;
+	}
+
+	@Override
+	public boolean isApplicable(PrintJobContext context) {
+		return context.isVerified();
+	}
+
+	@Override
+	public boolean runsOnFailure() {
+		return true;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		boolean isTransactionSuccessful = context.getError() == null;
+		String description;
+		String eventId;
+		String eventName;
+		String eventType;
+		String moduleId;
+		if (isTransactionSuccessful) {
+			description = PlatformSuccessMessages.RPR_PRINT_SERVICE_SUCCESS.getMessage();
+			moduleId = PlatformSuccessMessages.RPR_PRINT_SERVICE_SUCCESS.getCode();
+			eventId = EventId.RPR_402.toString();
+			eventName = EventName.UPDATE.toString();
+			eventType = EventType.BUSINESS.toString();
+		} else {
+			description = PlatformErrorMessages.PRT_PRT_PDF_GENERATION_FAILED.getMessage();
+			moduleId = PlatformErrorMessages.PRT_PRT_PDF_GENERATION_FAILED.getCode();
+			eventId = EventId.RPR_405.toString();
+			eventName = EventName.EXCEPTION.toString();
+			eventType = EventType.SYSTEM.toString();
+		}
+		String moduleName = ModuleName.PRINT_SERVICE.toString();
+		auditLogRequestBuilder.createAuditRequestBuilder(description, eventId, eventName, eventType, moduleId,
+				moduleName, context.getUin());
+	}
+
+}
@@ -0,0 +1,46 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.DataShareUtil;
+
+/**
+ * Uploads the signed PDF to datashare.
+ */
+@Component
+public class DataShareStage implements PrintStage {
+
+	@Autowired
+	private DataShareUtil dataShareUtil;
+
+	@Value("${mosip.datashare.partner.id}")
+	private String partnerId;
+
+	@Value("${mosip.datashare.policy.id}")
+	private String policyId;
+
+	@Override
+	public String getName() {
+		return "datashare";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 1100;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		context.setDataShare(dataShareUtil.getDataShare(context.getPdf(), policyId, partnerId));
+	}
+
+}
@@ -0,0 +1,48 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.CredentialDocument;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.ProtectedAttributeDecryptor;
+
+/**
+ * Parses the decrypted credential once for the stages after it, and hands its
+ * protected attributes, still encrypted with the event's protection key, to
+ * the stages reading them.
+ */
+@Component
+public class DecryptAttributesStage implements PrintStage {
+
+	@Autowired
+	private ProtectedAttributeDecryptor protectedAttributeDecryptor;
+
+	@Override
+	public String getName() {
+		return "decryptAttributes";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 400;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		CredentialDocument document = CredentialDocument.parse(context.getDecryptedCredential());
+		// collected without decrypting them, the stages reading them decrypt them through the document
+		document.setProtectedAttributes(
+				protectedAttributeDecryptor.open(document.getEncryptedAttributes(), context.getEncryptionPin()));
+		context.setCredentialDocument(document);
+		context.setBiometrics(document.getBiometrics());
+		context.setUin(document.getText("UIN"));
+	}
+
+}
@@ -0,0 +1,56 @@
+package io.mosip.print.service.impl.stage;
+
+import java.io.ByteArrayInputStream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.CryptoCoreUtil;
+
+/**
+ * Decrypts the credential envelope with the partner key. A credential
+ * downloaded from datashare is decoded and decrypted chunk by chunk from the
+ * bytes received.
+ */
+@Component
+public class DecryptCredentialStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(DecryptCredentialStage.class);
+
+	@Autowired
+	private CryptoCoreUtil cryptoCoreUtil;
+
+	@Override
+	public String getName() {
+		return "decrypt";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 200;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		byte[] encodedCredential = context.getEncodedCredential();
+		String decodedCredential;
+		if (encodedCredential != null) {
+			decodedCredential = cryptoCoreUtil.decrypt(new ByteArrayInputStream(encodedCredential));
+			context.setEncodedCredential(null);
+		} else {
+			decodedCredential = cryptoCoreUtil.decrypt(context.getCredential());
+		}
+		printLogger.debug("vc is printed security valuation.... : {}", decodedCredential);
+		context.setDecryptedCredential(decodedCredential);
+	}
+
+}
@@ -0,0 +1,91 @@
+package io.mosip.print.service.impl.stage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.constant.FaceImageDataType;
+import io.mosip.print.model.FaceImage;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.FaceImageNormalizer;
+
+/**
+ * Puts the face image into the template attributes, downscaled to the card
+ * photo box and encoded as JPEG. An image that cannot be decoded, such as a
+ * JPEG 2000 capture on a JVM without a reader for it, is put as captured,
+ * labelled with the type its record states.
+ */
+@Component
+public class FaceNormalizeStage implements PrintStage {
+
+	/** The Constant APPLICANT_PHOTO. */
+	private static final String APPLICANT_PHOTO = "ApplicantPhoto";
+
+	@Autowired
+	private FaceImageNormalizer faceImageNormalizer;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.face.normalize.enabled:true}")
+	private boolean enabled;
+
+	private Timer faceNormalizeTimer;
+
+	@PostConstruct
+	public void init() {
+		faceNormalizeTimer = Timer.builder("print.step").tag("step", "faceNormalize")
+				.description("Time spent in a step of a print stage").register(meterRegistry);
+	}
+
+	@Override
+	public String getName() {
+		return "faceNormalize";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 550;
+	}
+
+	@Override
+	public boolean isApplicable(PrintJobContext context) {
+		return !context.isQrCode() && context.getFaceImage() != null;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		FaceImage faceImage = context.getFaceImage();
+		if (enabled) {
+			long start = System.nanoTime();
+			byte[] normalized = faceImageNormalizer.normalize(faceImage);
+			faceNormalizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			if (normalized != null) {
+				context.getAttributes().put(APPLICANT_PHOTO,
+						"data:image/jpeg;base64," + Base64.getEncoder().encodeToString(normalized));
+				return;
+			}
+		}
+		String mimeType = faceImage.getImageDataType() == FaceImageDataType.UNKNOWN ? "image/png"
+				: faceImage.getImageDataType().getMimeType();
+		ByteBuffer data = Base64.getEncoder().encode(faceImage.getImageData());
+		context.getAttributes().put(APPLICANT_PHOTO,
+				"data:" + mimeType + ";base64," + StandardCharsets.US_ASCII.decode(data));
+	}
+
+}
@@ -0,0 +1,59 @@
+package io.mosip.print.service.impl.stage;
+
+import java.net.URI;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.Event;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.RestApiClient;
+
+/**
+ * Reads the credential from the event, downloading it from datashare when the
+ * event only carries a datashare URI. A downloaded credential is kept as the
+ * bytes received, for the decrypt stage to read without a String copy.
+ */
+@Component
+public class FetchCredentialStage implements PrintStage {
+
+	@Autowired
+	private RestApiClient restApiClient;
+
+	@Override
+	public String getName() {
+		return "fetch";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 100;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		Event event = context.getEventModel().getEvent();
+		if (event.getDataShareUri() == null || event.getDataShareUri().isEmpty()) {
+			String credential = event.getData().get("credential").toString();
+			context.setCredential(credential);
+			context.setCredentialSize(credential.length());
+		} else {
+			URI dataShareUri = URI.create(event.getDataShareUri());
+			byte[] encodedCredential = restApiClient.getApi(dataShareUri,
+					response -> IOUtils.toByteArray(response.getBody()));
+			context.setEncodedCredential(encodedCredential);
+			context.setCredentialSize(encodedCredential.length);
+		}
+		context.setEncryptionPin(event.getData().get("protectionKey").toString());
+		context.setCredentialType(event.getData().get("credentialType").toString());
+		context.setRequestId(event.getTransactionId());
+	}
+
+}
@@ -0,0 +1,42 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.constant.UinCardType;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.service.UinCardGenerator;
+import io.mosip.print.spi.PrintStage;
+
+/**
+ * Renders the merged template to an unsigned PDF.
+ */
+@Component
+public class PdfRenderStage implements PrintStage {
+
+	/** The uin card generator. */
+	@Autowired
+	private UinCardGenerator<byte[]> uinCardGenerator;
+
+	@Override
+	public String getName() {
+		return "pdfRender";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 900;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		context.setPdf(uinCardGenerator.renderUinCard(context.getTemplate(), UinCardType.PDF));
+		context.setTemplate(null);
+	}
+
+}
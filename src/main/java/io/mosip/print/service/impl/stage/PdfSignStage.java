@@ -0,0 +1,40 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.service.UinCardGenerator;
+import io.mosip.print.spi.PrintStage;
+
+/**
+ * Has the rendered PDF signed by the key manager.
+ */
+@Component
+public class PdfSignStage implements PrintStage {
+
+	/** The uin card generator. */
+	@Autowired
+	private UinCardGenerator<byte[]> uinCardGenerator;
+
+	@Override
+	public String getName() {
+		return "pdfSign";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 1000;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		context.setPdf(uinCardGenerator.signUinCard(context.getPdf(), context.getPassword()));
+	}
+
+}
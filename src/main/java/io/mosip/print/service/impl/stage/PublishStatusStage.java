@@ -0,0 +1,62 @@
+package io.mosip.print.service.impl.stage;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.CredentialStatusEvent;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.model.StatusEvent;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.DateUtils;
+import io.mosip.print.util.WebSubSubscriptionHelper;
+
+/**
+ * Publishes the printing status, with the datashare url of the card, on the
+ * credential status topic.
+ */
+@Component
+public class PublishStatusStage implements PrintStage {
+
+	private String topic="CREDENTIAL_STATUS_UPDATE";
+
+	@Autowired
+	private WebSubSubscriptionHelper webSubSubscriptionHelper;
+
+	@Override
+	public String getName() {
+		return "publish";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 1200;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		CredentialStatusEvent creEvent = new CredentialStatusEvent();
+		LocalDateTime currentDtime = DateUtils.getUTCCurrentDateTime();
+		StatusEvent sEvent = new StatusEvent();
+		sEvent.setId(UUID.randomUUID().toString());
+		sEvent.setRequestId(context.getRequestId());
+		sEvent.setStatus("printing");
+		sEvent.setUrl(context.getDataShare().getUrl());
+		sEvent.setTimestamp(Timestamp.valueOf(currentDtime).toString());
+		creEvent.setPublishedOn(new DateTime().toString());
+		creEvent.setPublisher("PRINT_SERVICE");
+		creEvent.setTopic(topic);
+		creEvent.setEvent(sEvent);
+		webSubSubscriptionHelper.printStatusUpdateEvent(topic, creEvent);
+	}
+
+}
@@ -0,0 +1,83 @@
+package io.mosip.print.service.impl.stage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.binary.Base64;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.mosip.print.constant.QrVersion;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.exception.QrcodeGenerationException;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.CredentialDocument;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.spi.QrCodeGenerator;
+import io.mosip.print.util.JsonUtil;
+
+/**
+ * Encodes the identity, without biometrics, as the card QR code.
+ */
+@Component
+public class QrCodeStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(QrCodeStage.class);
+
+	/** The Constant QRCODE. */
+	private static final String QRCODE = "QrCode";
+
+	/** The qr code generator. */
+	@Autowired
+	private QrCodeGenerator<QrVersion> qrCodeGenerator;
+
+	@Override
+	public String getName() {
+		return "qr";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 700;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		boolean isQRcodeSet = setQrCode(context.getCredentialDocument(), context.getAttributes());
+		if (!isQRcodeSet) {
+			printLogger.debug(PlatformErrorMessages.PRT_PRT_QRCODE_NOT_SET.name());
+		}
+	}
+
+	private boolean setQrCode(CredentialDocument document, Map<String, Object> attributes)
+			throws QrcodeGenerationException, IOException {
+		boolean isQRCodeSet = false;
+		// the biometrics are not among the names, and stay undecoded
+		List<String> names = document.getNames();
+		document.prefetch(names);
+		ObjectNode qrJsonObj = JsonNodeFactory.instance.objectNode();
+		for (String name : names) {
+			qrJsonObj.set(name, document.get(name));
+		}
+		byte[] qrCodeBytes = qrCodeGenerator.generateQrCode(JsonUtil.writeValueAsString(qrJsonObj), QrVersion.V30);
+		if (qrCodeBytes != null) {
+			String imageString = Base64.encodeBase64String(qrCodeBytes);
+			attributes.put(QRCODE, "data:image/png;base64," + imageString);
+			isQRCodeSet = true;
+		}
+
+		return isQRCodeSet;
+	}
+
+}
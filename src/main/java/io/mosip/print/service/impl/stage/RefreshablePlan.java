@@ -0,0 +1,116 @@
+package io.mosip.print.service.impl.stage;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.springframework.core.env.Environment;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.mosip.print.exception.ParsingException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.util.JsonUtil;
+
+/**
+ * A plan compiled from a configuration json on first use, and recompiled when
+ * the stage holding it is told the configuration was refreshed.
+ *
+ * @param <T> the compiled plan, immutable and shared by every card
+ */
+class RefreshablePlan<T> {
+
+	private static Logger printLogger = PrintLogger.getLogger(RefreshablePlan.class);
+
+	private static final String MANDATORY_LANGUAGES = "mosip.mandatory-languages";
+
+	private static final String OPTIONAL_LANGUAGES = "mosip.optional-languages";
+
+	private final String name;
+
+	private final Supplier<String> json;
+
+	private final Supplier<String> refreshedJson;
+
+	private final Function<JsonNode, T> compiler;
+
+	private final AtomicReference<T> plan = new AtomicReference<>();
+
+	/**
+	 * Instantiates a new plan, compiled on first use.
+	 *
+	 * @param name          what the json is, for the logs
+	 * @param json          reads the json on first use, null if it cannot
+	 * @param refreshedJson reads the json again after a refresh, null if it
+	 *                      cannot
+	 * @param compiler      compiles the json
+	 */
+	RefreshablePlan(String name, Supplier<String> json, Supplier<String> refreshedJson,
+			Function<JsonNode, T> compiler) {
+		this.name = name;
+		this.json = json;
+		this.refreshedJson = refreshedJson;
+		this.compiler = compiler;
+	}
+
+	/**
+	 * Gets the languages cards are printed in, comma separated.
+	 *
+	 * @param env the environment
+	 * @return the mandatory and optional languages
+	 */
+	static String supportedLang(Environment env) {
+		return env.getProperty(MANDATORY_LANGUAGES, "") + "," + env.getProperty(OPTIONAL_LANGUAGES, "");
+	}
+
+	/**
+	 * Gets the compiled plan, compiling it on first use.
+	 *
+	 * @return the plan
+	 * @throws IOException if the json cannot be read
+	 */
+	T get() throws IOException {
+		T current = plan.get();
+		if (current == null) {
+			// a race compiles the same json twice, the first one is kept
+			plan.compareAndSet(null, compile(json.get()));
+			current = plan.get();
+		}
+		return current;
+	}
+
+	/**
+	 * Recompiles the plan after a configuration refresh. Cards in progress
+	 * keep the plan they started with, and the current plan is kept if the new
+	 * json cannot be read. A plan not compiled yet is left to its first use.
+	 */
+	void refresh() {
+		if (plan.get() == null) {
+			return;
+		}
+		try {
+			plan.set(compile(refreshedJson.get()));
+			printLogger.info("Recompiled the {} after configuration refresh", name);
+		} catch (IOException | ParsingException e) {
+			printLogger.error("Keeping the current " + name + ", the refreshed one could not be read", e);
+		}
+	}
+
+	private T compile(String text) throws IOException {
+		if (text == null) {
+			throw new ParsingException(PlatformErrorMessages.PRT_RGS_JSON_PARSING_EXCEPTION.getMessage());
+		}
+		try {
+			return compiler.apply(JsonUtil.readTree(text));
+		} catch (JsonParseException | JsonMappingException e) {
+			printLogger.error("Error while parsing Json file", e);
+			throw new ParsingException(PlatformErrorMessages.PRT_RGS_JSON_PARSING_EXCEPTION.getMessage(), e);
+		}
+	}
+
+}
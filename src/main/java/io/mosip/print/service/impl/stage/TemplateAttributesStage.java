@@ -0,0 +1,72 @@
+package io.mosip.print.service.impl.stage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.constant.IdType;
+import io.mosip.print.model.IdentityMappingPlan;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.Utilities;
+
+/**
+ * Maps the decrypted identity onto the template attributes using the identity
+ * mapping json, compiled once and recompiled when the configuration is
+ * refreshed.
+ */
+@Component
+public class TemplateAttributesStage implements PrintStage {
+
+	/** The utilities. */
+	@Autowired
+	private Utilities utilities;
+
+	@Autowired
+	private Environment env;
+
+	private final RefreshablePlan<IdentityMappingPlan> plan = new RefreshablePlan<>("identity mapping",
+			() -> utilities.getIdentityMappingJson(utilities.getConfigServerFileStorageURL(),
+					utilities.getGetRegProcessorIdentityJson()),
+			() -> utilities.getJson(utilities.getConfigServerFileStorageURL(),
+					utilities.getGetRegProcessorIdentityJson()),
+			json -> IdentityMappingPlan.compile(json.path(utilities.getGetRegProcessorDemographicIdentity()),
+					RefreshablePlan.supportedLang(env)));
+
+	@Override
+	public String getName() {
+		return "templateAttributes";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 600;
+	}
+
+	@Override
+	public boolean isApplicable(PrintJobContext context) {
+		return !context.isQrCode();
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		plan.get().apply(context.getCredentialDocument(), context.getAttributes());
+		context.getAttributes().put(IdType.UIN.toString(), context.getUin());
+	}
+
+	/**
+	 * Recompiles the identity mapping after a configuration refresh.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void refreshPlan() {
+		plan.refresh();
+	}
+
+}
@@ -0,0 +1,92 @@
+package io.mosip.print.service.impl.stage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.exception.TemplateProcessingFailureException;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.TemplateGenerator;
+
+/**
+ * Fetches the card template from the master data, keeping it for
+ * {@code ttl-seconds} so that cards in between do not wait on the network.
+ */
+@Component
+public class TemplateFetchStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(TemplateFetchStage.class);
+
+	/** The Constant UIN_CARD_TEMPLATE. */
+	private static final String UIN_CARD_TEMPLATE = "RPR_UIN_CARD_TEMPLATE";
+
+	/** The template generator. */
+	@Autowired
+	private TemplateGenerator templateGenerator;
+
+	@Value("${mosip.template-language}")
+	private String templateLang;
+
+	@Value("${mosip.print.template.cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	/** By language and template type code, both from the configuration. */
+	private final Map<String, CachedTemplate> templates = new ConcurrentHashMap<>();
+
+	@Override
+	public String getName() {
+		return "templateFetch";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.IO;
+	}
+
+	@Override
+	public int getOrder() {
+		return 750;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		String key = templateLang + "/" + UIN_CARD_TEMPLATE;
+		long now = System.nanoTime();
+		CachedTemplate cached = templates.get(key);
+		if (cached != null && now - cached.expiresAt < 0) {
+			context.setTemplateText(cached.text);
+			return;
+		}
+		String templateText = templateGenerator.fetchTemplate(UIN_CARD_TEMPLATE, templateLang);
+		if (templateText == null) {
+			printLogger.error(PlatformErrorMessages.PRT_TEM_PROCESSING_FAILURE.name());
+			throw new TemplateProcessingFailureException(PlatformErrorMessages.PRT_TEM_PROCESSING_FAILURE.getCode());
+		}
+		if (ttlSeconds > 0) {
+			templates.put(key, new CachedTemplate(templateText, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+		}
+		context.setTemplateText(templateText);
+	}
+
+	private static class CachedTemplate {
+
+		private final String text;
+
+		private final long expiresAt;
+
+		private CachedTemplate(String text, long expiresAt) {
+			this.text = text;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
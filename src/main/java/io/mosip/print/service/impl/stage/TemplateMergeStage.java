@@ -0,0 +1,54 @@
+package io.mosip.print.service.impl.stage;
+
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.exception.TemplateProcessingFailureException;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.TemplateGenerator;
+
+/**
+ * Merges the collected attributes into the card template fetched by the
+ * templateFetch stage.
+ */
+@Component
+public class TemplateMergeStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(TemplateMergeStage.class);
+
+	/** The template generator. */
+	@Autowired
+	private TemplateGenerator templateGenerator;
+
+	@Override
+	public String getName() {
+		return "templateMerge";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 800;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		InputStream uinArtifact = templateGenerator.mergeTemplate(context.getTemplateText(), context.getAttributes());
+		if (uinArtifact == null) {
+			printLogger.error(PlatformErrorMessages.PRT_TEM_PROCESSING_FAILURE.name());
+			throw new TemplateProcessingFailureException(PlatformErrorMessages.PRT_TEM_PROCESSING_FAILURE.getCode());
+		}
+		context.setTemplate(uinArtifact);
+	}
+
+}
@@ -0,0 +1,79 @@
+package io.mosip.print.service.impl.stage;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.model.TextFilePlan;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.util.Utilities;
+
+/**
+ * Builds the print text file from the decrypted identity, when an output sink
+ * asks for it, using the print text file json compiled once and recompiled
+ * when the configuration is refreshed.
+ */
+@Component
+public class TextFileStage implements PrintStage {
+
+	/** The Constant UIN_TEXT_FILE. */
+	public static final String UIN_TEXT_FILE = "textFile";
+
+	/** The utilities. */
+	@Autowired
+	private Utilities utilities;
+
+	@Autowired
+	private Environment env;
+
+	/** The artifacts the output sinks take besides the card pdf. */
+	@Value("#{'${mosip.print.output.artifacts:}'.replace(' ', '').split(',')}")
+	private List<String> outputArtifacts;
+
+	private final RefreshablePlan<TextFilePlan> plan = new RefreshablePlan<>("print text file",
+			() -> utilities.getPrintTextFileJson(utilities.getConfigServerFileStorageURL(),
+					utilities.getRegistrationProcessorPrintTextFile()),
+			() -> utilities.getJson(utilities.getConfigServerFileStorageURL(),
+					utilities.getRegistrationProcessorPrintTextFile()),
+			json -> TextFilePlan.compile(json, RefreshablePlan.supportedLang(env)));
+
+	@Override
+	public String getName() {
+		return "textFile";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 650;
+	}
+
+	@Override
+	public boolean isApplicable(PrintJobContext context) {
+		return !context.isQrCode() && outputArtifacts.contains(UIN_TEXT_FILE);
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		context.getArtifacts().put(UIN_TEXT_FILE, plan.get().write(context.getCredentialDocument()));
+	}
+
+	/**
+	 * Recompiles the print text file json after a configuration refresh.
+	 */
+	@EventListener(RefreshScopeRefreshedEvent.class)
+	public void refreshPlan() {
+		plan.refresh();
+	}
+
+}
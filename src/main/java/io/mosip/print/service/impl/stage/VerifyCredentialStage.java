@@ -0,0 +1,74 @@
+package io.mosip.print.service.impl.stage;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.vercred.CredentialsVerifier;
+import io.mosip.vercred.exception.ProofDocumentNotFoundException;
+import io.mosip.vercred.exception.ProofTypeNotFoundException;
+import io.mosip.vercred.exception.PubicKeyNotFoundException;
+import io.mosip.vercred.exception.UnknownException;
+
+/**
+ * Verifies the credential proof. A credential failing verification stops the
+ * job without printing.
+ */
+@Component
+public class VerifyCredentialStage implements PrintStage {
+
+	private Logger printLogger = PrintLogger.getLogger(VerifyCredentialStage.class);
+
+	@Autowired
+	private CredentialsVerifier credentialsVerifier;
+
+	@Value("${mosip.print.verify.credentials.flag:true}")
+	private boolean verifyCredentialsFlag;
+
+	@Override
+	public String getName() {
+		return "verify";
+	}
+
+	@Override
+	public StageType getType() {
+		return StageType.CPU;
+	}
+
+	@Override
+	public int getOrder() {
+		return 300;
+	}
+
+	@Override
+	public void process(PrintJobContext context) throws Exception {
+		if (!verifyCredentialsFlag) {
+			context.setVerified(true);
+			return;
+		}
+		Event event = context.getEventModel().getEvent();
+		printLogger.info("Configured received credentials to be verified. Flag {}", verifyCredentialsFlag);
+		try {
+			boolean verified = credentialsVerifier.verifyPrintCredentials(context.getDecryptedCredential());
+			if (!verified) {
+				printLogger.error("Received Credentials failed in verifiable credential verify method. So, the credentials will not be printed." +
+						" Id: {}, Transaction Id: {}", event.getId(), event.getTransactionId());
+				context.setAborted(true);
+			}
+		} catch (ProofDocumentNotFoundException | ProofTypeNotFoundException e) {
+			printLogger.error("Proof document is not available in the received credentials." +
+					" Id: {}, Transaction Id: {}", event.getId(), event.getTransactionId());
+		} catch (UnknownException | PubicKeyNotFoundException e) {
+			printLogger.error("Received Credentials failed in verifiable credential verify method. So, the credentials will not be printed." +
+					" Id: {}, Transaction Id: {}", event.getId(), event.getTransactionId());
+			context.setAborted(true);
+		}
+		context.setVerified(!context.isAborted());
+	}
+
+}
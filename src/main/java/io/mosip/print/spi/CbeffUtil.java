@@ -32,4 +32,16 @@ public interface CbeffUtil {
 
 	public List<BIR> getBIRDataFromXMLType(byte[] xmlBytes, String type) throws Exception;
 
+	/**
+	 * Gets the decoded BDB of the first record of the type and subtypes,
+	 * reading the xml once and decoding no other BDB.
+	 *
+	 * @param xmlBytes the CBEFF xml
+	 * @param type     the biometric type, e.g. Face
+	 * @param subType  the subtypes the record must have
+	 * @return the BDB, or null if no record matches
+	 * @throws Exception if the xml cannot be read
+	 */
+	public byte[] getFirstBDB(byte[] xmlBytes, String type, List<String> subType) throws Exception;
+
 }
@@ -0,0 +1,65 @@
+package io.mosip.print.spi;
+
+import org.springframework.core.Ordered;
+
+import io.mosip.print.model.PrintJobContext;
+
+/**
+ * One step of the card printing pipeline. Every stage bean is picked up by the
+ * pipeline, ordered by {@link #getOrder()} and given its own bounded queue and
+ * executor, so a new step is added by declaring another stage bean.
+ */
+public interface PrintStage extends Ordered {
+
+	/**
+	 * What the stage mostly waits on; CPU stages default to one thread per core,
+	 * IO stages to a larger pool.
+	 */
+	public enum StageType {
+		CPU, IO
+	}
+
+	/**
+	 * Gets the stage name, used in thread names and in the
+	 * {@code mosip.print.pipeline.stage.<name>.*} properties.
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Gets the stage type.
+	 *
+	 * @return the type
+	 */
+	StageType getType();
+
+	/**
+	 * Checks whether the stage applies to the job, e.g. card-only stages are
+	 * skipped for QR code credentials.
+	 *
+	 * @param context the job
+	 * @return true, if the stage should run
+	 */
+	default boolean isApplicable(PrintJobContext context) {
+		return true;
+	}
+
+	/**
+	 * Checks whether the stage still runs after an earlier stage failed.
+	 *
+	 * @return true, if the stage runs on failure
+	 */
+	default boolean runsOnFailure() {
+		return false;
+	}
+
+	/**
+	 * Runs the stage against the job.
+	 *
+	 * @param context the job
+	 * @throws Exception the exception, which fails the job
+	 */
+	void process(PrintJobContext context) throws Exception;
+
+}
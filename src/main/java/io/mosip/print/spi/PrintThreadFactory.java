@@ -0,0 +1,24 @@
+package io.mosip.print.spi;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.mosip.print.spi.PrintStage.StageType;
+
+/**
+ * Supplies the threads of the print queue and pipeline pools. The default
+ * gives platform threads; the {@code jdk21} build adds a virtual thread
+ * implementation, switched on with {@code mosip.print.virtual-threads.enabled},
+ * for the pools that mostly wait on downstream calls.
+ */
+public interface PrintThreadFactory {
+
+	/**
+	 * Creates the thread factory of one pool.
+	 *
+	 * @param namePrefix the thread name prefix
+	 * @param type       what the pool mostly waits on
+	 * @return the thread factory
+	 */
+	ThreadFactory newThreadFactory(String namePrefix, StageType type);
+
+}
@@ -0,0 +1,82 @@
+package io.mosip.print.util;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of byte arrays for the large, short lived buffers of the
+ * print path, such as decoded credentials. Arrays are cleared when they are
+ * released, so decrypted data does not outlive its use. The pool keeps
+ * arrays up to a length limit and up to a budget of bytes in total; anything
+ * past either is left to the garbage collector.
+ * <p>
+ * Not bound to threads, so it works the same on virtual threads.
+ */
+public class ByteArrayPool {
+
+	private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+	/** The bytes held by the arrays in {@link #free}. */
+	private final AtomicLong retainedBytes = new AtomicLong();
+
+	private final int maxRetainedLength;
+
+	private final long maxRetainedBytes;
+
+	/**
+	 * Instantiates a new pool.
+	 *
+	 * @param maxRetainedLength the length above which arrays are not kept
+	 * @param maxRetainedBytes  the total length of the arrays kept
+	 */
+	public ByteArrayPool(int maxRetainedLength, long maxRetainedBytes) {
+		this.maxRetainedLength = maxRetainedLength;
+		this.maxRetainedBytes = maxRetainedBytes;
+	}
+
+	/**
+	 * Takes an array from the pool, or allocates one.
+	 *
+	 * @param minLength the length needed
+	 * @return an array of at least that length
+	 */
+	public byte[] acquire(int minLength) {
+		byte[] array = free.poll();
+		if (array == null) {
+			return new byte[minLength];
+		}
+		retainedBytes.addAndGet(-array.length);
+		if (array.length >= minLength) {
+			return array;
+		}
+		// grow in steps so a pool serving mixed sizes settles on large arrays,
+		// but not past the length the pool would keep
+		int grown = Math.min(array.length + (array.length >> 1), maxRetainedLength);
+		return new byte[Math.max(minLength, grown)];
+	}
+
+	/**
+	 * Clears the used part of the array and gives it back to the pool, if it
+	 * fits in the pool's budget.
+	 *
+	 * @param array the array from {@link #acquire(int)}, may be null
+	 * @param used  the number of leading bytes that were written
+	 */
+	public void release(byte[] array, int used) {
+		if (array == null) {
+			return;
+		}
+		Arrays.fill(array, 0, Math.min(used, array.length), (byte) 0);
+		if (array.length > maxRetainedLength) {
+			return;
+		}
+		if (retainedBytes.addAndGet(array.length) > maxRetainedBytes) {
+			retainedBytes.addAndGet(-array.length);
+			return;
+		}
+		free.offer(array);
+	}
+
+}
@@ -0,0 +1,169 @@
+package io.mosip.print.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.codec.binary.Base64OutputStream;
+
+/**
+ * Reads one biometric out of a CBEFF document in a single StAX pass, without
+ * binding the document to {@link io.mosip.print.entity.BIR} objects. Only the
+ * {@code BDBInfo} types and subtypes of each record are read. The BDB of the
+ * first matching record is base64 decoded as it is read, and the BDB text of
+ * the other records is passed over without being kept.
+ */
+public class CbeffStreamReader {
+
+	private static final String BIR = "BIR";
+
+	private static final String BDB_INFO = "BDBInfo";
+
+	private static final String BDB = "BDB";
+
+	private static final String TYPE = "Type";
+
+	private static final String SUBTYPE = "Subtype";
+
+	/** The document BIR, its records, their BDBInfo and BDB, and the BDBInfo fields. */
+	private static final int RECORD_DEPTH = 2;
+
+	private static final int BDB_DEPTH = 3;
+
+	private static final int BDB_INFO_FIELD_DEPTH = 4;
+
+	/** Configured once, after which creating readers is thread safe. */
+	private static final XMLInputFactory XML_INPUT_FACTORY = inputFactory();
+
+	private CbeffStreamReader() {
+	}
+
+	private static XMLInputFactory inputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * Gets the decoded BDB of the first record of the given type and subtypes.
+	 * A record without subtypes matches an empty subtype list.
+	 *
+	 * @param xml     the CBEFF xml
+	 * @param type    the biometric type, e.g. Face, compared ignoring case
+	 * @param subType the subtypes the record must have, in order
+	 * @return the BDB, or null if no record matches
+	 * @throws XMLStreamException if the xml is not well formed
+	 * @throws IOException        if the BDB is not valid base64
+	 */
+	public static byte[] getFirstBDB(InputStream xml, String type, List<String> subType)
+			throws XMLStreamException, IOException {
+		XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+		try {
+			int depth = 0;
+			boolean inBdbInfo = false;
+			boolean typeMatches = false;
+			List<String> subtypes = Collections.emptyList();
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.END_ELEMENT) {
+					if (depth == BDB_DEPTH) {
+						inBdbInfo = false;
+					}
+					depth--;
+				} else if (event == XMLStreamConstants.START_ELEMENT) {
+					depth++;
+					String name = reader.getLocalName();
+					if (depth == RECORD_DEPTH && BIR.equals(name)) {
+						typeMatches = false;
+						subtypes = Collections.emptyList();
+					} else if (depth == BDB_DEPTH && BDB_INFO.equals(name)) {
+						inBdbInfo = true;
+					} else if (depth == BDB_INFO_FIELD_DEPTH && inBdbInfo && TYPE.equals(name)) {
+						typeMatches = containsIgnoreCase(tokens(reader.getElementText()), type);
+						depth--;
+					} else if (depth == BDB_INFO_FIELD_DEPTH && inBdbInfo && SUBTYPE.equals(name)) {
+						subtypes = tokens(reader.getElementText());
+						depth--;
+					} else if (depth == BDB_DEPTH && BDB.equals(name)) {
+						if (typeMatches && subtypes.equals(subType)) {
+							return decode(reader);
+						}
+						skipElement(reader);
+						depth--;
+					}
+				}
+			}
+			return null;
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Decodes the base64 text of the current element, chunk by chunk as the
+	 * parser delivers it.
+	 */
+	private static byte[] decode(XMLStreamReader reader) throws XMLStreamException, IOException {
+		ByteArrayOutputStream bdb = new ByteArrayOutputStream();
+		byte[] ascii = new byte[4096];
+		try (Base64OutputStream decoder = new Base64OutputStream(bdb, false)) {
+			for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+				if (event != XMLStreamConstants.CHARACTERS && event != XMLStreamConstants.CDATA) {
+					continue;
+				}
+				char[] text = reader.getTextCharacters();
+				int start = reader.getTextStart();
+				int length = reader.getTextLength();
+				for (int offset = 0; offset < length; offset += ascii.length) {
+					int chunk = Math.min(ascii.length, length - offset);
+					for (int i = 0; i < chunk; i++) {
+						ascii[i] = (byte) text[start + offset + i];
+					}
+					decoder.write(ascii, 0, chunk);
+				}
+			}
+		}
+		return bdb.toByteArray();
+	}
+
+	/**
+	 * Moves past the end of the current element, without reading its text.
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int open = 1;
+		while (open > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				open++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				open--;
+			}
+		}
+	}
+
+	/** The items of an xs:list value. */
+	private static List<String> tokens(String text) {
+		String trimmed = text.trim();
+		return trimmed.isEmpty() ? Collections.emptyList() : Arrays.asList(trimmed.split("\\s+"));
+	}
+
+	private static boolean containsIgnoreCase(List<String> values, String value) {
+		for (String candidate : values) {
+			if (candidate.equalsIgnoreCase(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
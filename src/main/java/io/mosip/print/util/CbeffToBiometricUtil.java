@@ -79,6 +79,20 @@ public class CbeffToBiometricUtil {
 		return photoBytes;
 	}
 
+	/**
+	 * Gets the photo out of a CBEFF already decoded, streaming the xml so that
+	 * the other biometrics are not decoded.
+	 *
+	 * @param cbeff   the cbeff xml
+	 * @param type    the type
+	 * @param subType the sub type
+	 * @return the photo
+	 * @throws Exception the exception
+	 */
+	public byte[] getImageBytes(byte[] cbeff, String type, List<String> subType) throws Exception {
+		return cbeff == null ? null : cbeffutil.getFirstBDB(cbeff, type, subType);
+	}
+
 	/**
 	 * Gets the photo by type and sub type.
 	 *
@@ -5,7 +5,7 @@ package io.mosip.print.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
+import java.io.InputStream;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,6 +16,7 @@ import java.util.stream.Collectors;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
@@ -43,6 +44,39 @@ import io.mosip.print.exception.CbeffException;
  */
 public class CbeffValidator {
 
+	/**
+	 * Built once: creating a context reflects over the whole entity model.
+	 * Contexts are thread safe, their marshallers and unmarshallers are not
+	 * and are kept per thread.
+	 */
+	private static final JAXBContext BIR_CONTEXT = birContext();
+
+	private static final ThreadLocal<Unmarshaller> UNMARSHALLER = ThreadLocal.withInitial(() -> {
+		try {
+			return BIR_CONTEXT.createUnmarshaller();
+		} catch (JAXBException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private static final ThreadLocal<Marshaller> MARSHALLER = ThreadLocal.withInitial(() -> {
+		try {
+			Marshaller marshaller = BIR_CONTEXT.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+			return marshaller;
+		} catch (JAXBException e) {
+			throw new IllegalStateException(e);
+		}
+	});
+
+	private static JAXBContext birContext() {
+		try {
+			return JAXBContext.newInstance(BIR.class);
+		} catch (JAXBException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
 	/**
 	 * Method used for custom validation of the BIR
 	 * 
@@ -148,14 +182,9 @@ public class CbeffValidator {
 	 */
 	public static byte[] createXMLBytes(BIR bir, byte[] xsd) throws Exception {
 		CbeffValidator.validateXML(bir);
-		JAXBContext jaxbContext = JAXBContext.newInstance(BIR.class);
-		Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-		jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE); // To
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		OutputStreamWriter writer = new OutputStreamWriter(baos);
-		jaxbMarshaller.marshal(bir, writer);
+		MARSHALLER.get().marshal(bir, baos);
 		byte[] savedData = baos.toByteArray();
-		writer.close();
 		try {
 			CbeffXSDValidator.validateXML(xsd, savedData);
 		} catch (SAXException sax) {
@@ -183,12 +212,22 @@ public class CbeffValidator {
 	 * 
 	 */
 	public static BIR getBIRFromXML(byte[] fileBytes) throws Exception {
-		JAXBContext jaxbContext = JAXBContext.newInstance(BIR.class);
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		JAXBElement<BIR> jaxBir = unmarshaller
-				.unmarshal(new StreamSource(new ByteArrayInputStream(fileBytes)), BIR.class);
-		BIR bir = jaxBir.getValue();
-		return bir;
+		return getBIRFromXML(new ByteArrayInputStream(fileBytes));
+	}
+
+	/**
+	 * Method used for BIR Type, reading the XML as it arrives
+	 * 
+	 * @param xml stream of XML data
+	 * 
+	 * @return BIR BIR data
+	 * 
+	 * @exception Exception exception
+	 * 
+	 */
+	public static BIR getBIRFromXML(InputStream xml) throws Exception {
+		JAXBElement<BIR> jaxBir = UNMARSHALLER.get().unmarshal(new StreamSource(xml), BIR.class);
+		return jaxBir.getValue();
 	}
 
 	/**
@@ -435,11 +474,7 @@ public class CbeffValidator {
 	public static List<BIR> getBIRDataFromXMLType(byte[] xmlBytes, String type) throws Exception {
 		BiometricType biometricType = null;
 		List<BIR> updatedBIRList = new ArrayList<>();
-		JAXBContext jaxbContext = JAXBContext.newInstance(BIR.class);
-		Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-		JAXBElement<BIR> jaxBir = unmarshaller
-				.unmarshal(new StreamSource(new ByteArrayInputStream(xmlBytes)), BIR.class);
-		BIR birRoot = jaxBir.getValue();
+		BIR birRoot = getBIRFromXML(xmlBytes);
 		for (BIR bir : birRoot.getBirs()) {
 			if (type != null) {
 				biometricType = getBiometricType(type);
@@ -1,9 +1,16 @@
 /**
- * 
+ *
  */
 package io.mosip.print.util;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.xml.XMLConstants;
 import javax.xml.transform.stream.StreamSource;
@@ -11,21 +18,118 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
+import org.xml.sax.SAXException;
+
 /**
  * @author M1049825
  *
+ *         Compiled schemas are cached by the SHA-256 of their XSD, so an XSD is
+ *         compiled once however many documents are validated against it. A
+ *         compiled schema is thread safe; its validators are not and are kept
+ *         per thread.
  */
 public class CbeffXSDValidator {
 
+	/** Far more than the CBEFF XSD versions a deployment uses at once. */
+	private static final int MAX_SCHEMAS = 16;
+
+	private static final ReentrantLock LOCK = new ReentrantLock();
+
+	private static final Map<ByteBuffer, CompiledSchema> SCHEMAS = new LinkedHashMap<ByteBuffer, CompiledSchema>(
+			MAX_SCHEMAS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, CompiledSchema> eldest) {
+			return size() > MAX_SCHEMAS;
+		}
+	};
+
 	public static boolean validateXML(byte[] xsdBytes, byte[] xmlBytes) throws Exception {
+		return validateXML(xsdBytes, new ByteArrayInputStream(xmlBytes));
+	}
+
+	/**
+	 * Validates the xml as it is read against the XSD, compiled on first use.
+	 *
+	 * @param xsdBytes the XSD
+	 * @param xml      the xml
+	 * @return true, as invalid xml throws
+	 * @throws Exception when the xml is not valid or cannot be read
+	 */
+	public static boolean validateXML(byte[] xsdBytes, InputStream xml) throws Exception {
+		Validator validator = getSchema(xsdBytes).validator.get();
+		try {
+			validator.validate(new StreamSource(xml));
+		} finally {
+			validator.reset();
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the compiled schema of the XSD, compiling it if it is not cached.
+	 * Called at startup with the configured XSD so the first card does not pay
+	 * for the compilation.
+	 *
+	 * @param xsdBytes the XSD
+	 * @return the compiled schema
+	 * @throws SAXException if the XSD is not a valid schema
+	 */
+	public static Schema compile(byte[] xsdBytes) throws SAXException {
+		return getSchema(xsdBytes).schema;
+	}
+
+	private static CompiledSchema getSchema(byte[] xsdBytes) throws SAXException {
+		ByteBuffer id = id(xsdBytes);
+		LOCK.lock();
+		try {
+			CompiledSchema compiled = SCHEMAS.get(id);
+			if (compiled != null) {
+				return compiled;
+			}
+		} finally {
+			LOCK.unlock();
+		}
+		// compiled outside the lock, so validations against cached schemas do not wait;
+		// when two threads compile the same XSD, the first one stored is kept
+		CompiledSchema compiled = new CompiledSchema(newSchema(xsdBytes));
+		LOCK.lock();
+		try {
+			CompiledSchema cached = SCHEMAS.putIfAbsent(id, compiled);
+			return cached != null ? cached : compiled;
+		} finally {
+			LOCK.unlock();
+		}
+	}
+
+	private static Schema newSchema(byte[] xsdBytes) throws SAXException {
 		SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
 		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
 		factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
 		factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-		Schema schema = factory.newSchema(new StreamSource(new ByteArrayInputStream(xsdBytes)));
-		Validator validator = schema.newValidator();
-		validator.validate(new StreamSource(new ByteArrayInputStream(xmlBytes)));
-		return true;
+		return factory.newSchema(new StreamSource(new ByteArrayInputStream(xsdBytes)));
+	}
+
+	private static ByteBuffer id(byte[] xsdBytes) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(xsdBytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class CompiledSchema {
+
+		private final Schema schema;
+
+		private final ThreadLocal<Validator> validator;
+
+		private CompiledSchema(Schema schema) {
+			this.schema = schema;
+			this.validator = ThreadLocal.withInitial(schema::newValidator);
+		}
+
 	}
 
 }
@@ -1,24 +1,14 @@
 package io.mosip.print.util;
 
-import static java.util.Arrays.copyOfRange;
-
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
-import java.security.KeyStore;
-import java.security.KeyStore.PasswordProtection;
 import java.security.KeyStore.PrivateKeyEntry;
-import java.security.KeyStore.ProtectionParameter;
-import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
-import java.security.PrivateKey;
-import java.security.UnrecoverableEntryException;
 import java.security.cert.Certificate;
-import java.security.cert.CertificateException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.spec.MGF1ParameterSpec;
 import java.util.Arrays;
 
 import javax.crypto.BadPaddingException;
@@ -26,13 +16,12 @@ import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
-import javax.crypto.spec.OAEPParameterSpec;
-import javax.crypto.spec.PSource.PSpecified;
-import javax.crypto.spec.SecretKeySpec;
 
+import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -47,173 +36,167 @@ public class CryptoCoreUtil {
 
 	static Logger printLogger = PrintLogger.getLogger(CryptoCoreUtil.class);
 
-	private final static String RSA_ECB_OAEP_PADDING = "RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING";
-
-	private final static int THUMBPRINT_LENGTH = 32;
-	private final static int NONCE = 12;
-	private final static int AADSize = 32;
 	public static final byte[] VERSION_RSA_2048 = "VER_R2".getBytes();
 
+	/**
+	 * Buffers for decoded credentials. Keeps arrays of up to 4 MB, and at most
+	 * 32 MB in all; larger credentials get an array of their own.
+	 */
+	private static final ByteArrayPool BUFFERS = new ByteArrayPool(4 * 1024 * 1024, 32L * 1024 * 1024);
+
+	/** Decoded bytes read ahead for the header, enough for a 4096 bit key. */
+	private static final int HEADER_LENGTH = 1024;
+
+	private static final int CHUNK_LENGTH = 8192;
+
 	@Value("${mosip.print.prependThumbprint:true}")
 	private boolean isThumbprint;
 
-	@Value("${mosip.print.crypto.p12.filename}")
-	private String fileName;
+	@Autowired
+	private PartnerKeyManager keyManager;
 
-	@Value("${mosip.print.crypto.p12.password}")
-	private String cyptoPassword;
+	@Autowired
+	private CryptoEngine cryptoEngine;
 
-	@Value("${mosip.print.crypto.p12.alias}")
-	private String alias;
+	@Autowired
+	private SessionKeyCache sessionKeyCache;
 
 
 	public String decrypt(String data) {
+		byte[] buffer = BUFFERS.acquire(CryptoEnvelope.maxDecodedLength(data));
+		int used = 0;
 		try {
-			PrivateKeyEntry privateKeyEntry = loadP12();
-			byte[] dataBytes = org.apache.commons.codec.binary.Base64.decodeBase64(data);
-			byte[] decryptedDataBytes = decryptData(dataBytes, privateKeyEntry);
-			return new String(decryptedDataBytes);
+			used = CryptoEnvelope.decodeBase64(data, buffer);
+			CryptoEnvelope envelope = CryptoEnvelope.parse(buffer, 0, used, isThumbprint);
+			PrivateKeyEntry privateKeyEntry = selectKey(buffer, envelope);
+			// the plain text is written over the decoded data, which it is shorter than
+			int length = dataCipher(buffer, envelope, privateKeyEntry).doFinal(buffer, envelope.getCipherTextOffset(),
+					envelope.getCipherTextLength(), buffer, 0);
+			return new String(buffer, 0, length);
 		}catch (Exception e){
 			printLogger.error( "Not able to decrypt the data : {}", e);
+		} finally {
+			BUFFERS.release(buffer, used);
 		}
 		throw new CryptoManagerException(PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getCode(),
 				PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getMessage());
 	}
 
-	public PrivateKeyEntry loadP12(){
-		try {
-			KeyStore mosipKeyStore = KeyStore.getInstance("PKCS12");
-			InputStream in = getClass().getClassLoader().getResourceAsStream(fileName);
-			mosipKeyStore.load(in, cyptoPassword.toCharArray());
-			ProtectionParameter password = new PasswordProtection(cyptoPassword.toCharArray());
-			return (PrivateKeyEntry) mosipKeyStore.getEntry(alias, password);
-		}catch (UnrecoverableEntryException | CertificateException | KeyStoreException | IOException|NoSuchAlgorithmException e) {
-			printLogger.error( "Not able to load the key from keystore : {}", e);
-		}
-		throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
-				PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage());
-	}
-
-	public byte[] decryptData(byte[] requestData, PrivateKeyEntry privateKey)  {
-		String keySplitter = "#KEY_SPLITTER#";
-		SecretKey symmetricKey = null;
-		byte[] encryptedData = null;
-		byte[] encryptedSymmetricKey = null;
-		final int cipherKeyandDataLength = requestData.length;
-		final int keySplitterLength = keySplitter.length();
-
-		int keyDemiliterIndex = getSplitterIndex(requestData, 0, keySplitter);
-		byte[] encryptedKey = copyOfRange(requestData, 0, keyDemiliterIndex);
-		byte[] headerBytes = parseEncryptKeyHeader(encryptedKey);
-		byte[] decryptedSymmetricKey = null;
+	/**
+	 * Decrypts the data as it is read, without holding its Base64 text or the
+	 * decoded envelope. Data without a version header carries its IV at the
+	 * end, so it is read in full before decrypting.
+	 *
+	 * @param encoded the Base64 text, of either alphabet
+	 * @return the plain text
+	 * @throws IOException if the data cannot be read
+	 */
+	public String decrypt(InputStream encoded) throws IOException {
+		InputStream in = new Base64InputStream(encoded);
+		byte[] header = new byte[HEADER_LENGTH];
+		int read = IOUtils.read(in, header);
 		try {
-			encryptedData = copyOfRange(requestData, keyDemiliterIndex + keySplitterLength, cipherKeyandDataLength);
-			if (Arrays.equals(headerBytes, VERSION_RSA_2048)) {
-				encryptedSymmetricKey = Arrays.copyOfRange(encryptedKey, THUMBPRINT_LENGTH + VERSION_RSA_2048.length,
-						encryptedKey.length);
-				byte[] aad = Arrays.copyOfRange(encryptedData, 0, AADSize);
-				byte[] nonce = Arrays.copyOfRange(aad, 0, NONCE);
-				byte[] encData = Arrays.copyOfRange(encryptedData, AADSize, encryptedData.length);
-				decryptedSymmetricKey = asymmetricDecrypt(privateKey.getPrivateKey(),
-						((RSAPrivateKey) privateKey.getPrivateKey()).getModulus(), encryptedSymmetricKey);
-				symmetricKey = new SecretKeySpec(decryptedSymmetricKey, 0, decryptedSymmetricKey.length, "AES");
-				return symmetricDecrypt(symmetricKey, encData, nonce, aad);
-			} else if (isThumbprint) {
-				encryptedSymmetricKey = Arrays.copyOfRange(encryptedKey, THUMBPRINT_LENGTH, encryptedKey.length);
-				decryptedSymmetricKey = asymmetricDecrypt(privateKey.getPrivateKey(),
-						((RSAPrivateKey) privateKey.getPrivateKey()).getModulus(), encryptedSymmetricKey);
-				symmetricKey = new SecretKeySpec(decryptedSymmetricKey, 0, decryptedSymmetricKey.length, "AES");
-				return symmetricDecrypt(symmetricKey, encryptedData, null);
-			} else {
-				decryptedSymmetricKey = asymmetricDecrypt(privateKey.getPrivateKey(),
-						((RSAPrivateKey) privateKey.getPrivateKey()).getModulus(), encryptedKey);
-				symmetricKey = new SecretKeySpec(decryptedSymmetricKey, 0, decryptedSymmetricKey.length, "AES");
-				return symmetricDecrypt(symmetricKey, encryptedData, null);
+			CryptoEnvelope envelope = CryptoEnvelope.parse(header, 0, read, isThumbprint);
+			if (!envelope.isVersioned()) {
+				ByteArrayOutputStream data = new ByteArrayOutputStream(HEADER_LENGTH + CHUNK_LENGTH);
+				data.write(header, 0, read);
+				IOUtils.copy(in, data);
+				return decryptLegacy(data.toByteArray());
 			}
-		} catch (Exception e) {
-			printLogger.error( "Not able to decrypt the data : {}", e);
+			Cipher cipher = dataCipher(header, envelope, selectKey(header, envelope));
+			ByteArrayOutputStream plain = new ByteArrayOutputStream(CHUNK_LENGTH);
+			write(plain, cipher.update(header, envelope.getCipherTextOffset(), envelope.getCipherTextLength()));
+			byte[] chunk = new byte[CHUNK_LENGTH];
+			for (int n = in.read(chunk); n >= 0; n = in.read(chunk)) {
+				write(plain, cipher.update(chunk, 0, n));
+			}
+			byte[] last = cipher.doFinal();
+			if (plain.size() == 0) {
+				// the provider held the plain text back until the tag was checked
+				return new String(last);
+			}
+			write(plain, last);
+			return plain.toString();
+		} catch (GeneralSecurityException | RuntimeException e) {
+			printLogger.error("Not able to decrypt the data : {}", e);
 		}
 		throw new CryptoManagerException(PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getCode(),
 				PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getMessage());
 	}
 
-	public byte[] parseEncryptKeyHeader(byte[] encryptedKey) {
-		byte[] versionHeaderBytes = Arrays.copyOfRange(encryptedKey, 0, VERSION_RSA_2048.length);
-		if (!Arrays.equals(versionHeaderBytes, VERSION_RSA_2048)) {
-			return new byte[0];
-		}
-		return versionHeaderBytes;
+	private String decryptLegacy(byte[] data) throws GeneralSecurityException {
+		CryptoEnvelope envelope = CryptoEnvelope.parse(data, 0, data.length, isThumbprint);
+		int length = dataCipher(data, envelope, selectKey(data, envelope)).doFinal(data,
+				envelope.getCipherTextOffset(), envelope.getCipherTextLength(), data, 0);
+		return new String(data, 0, length);
 	}
 
-	private static int getSplitterIndex(byte[] encryptedData, int keyDemiliterIndex, String keySplitter) {
-		final byte keySplitterFirstByte = keySplitter.getBytes()[0];
-		final int keySplitterLength = keySplitter.length();
-		for (byte data : encryptedData) {
-			if (data == keySplitterFirstByte) {
-				final String keySplit = new String(
-						copyOfRange(encryptedData, keyDemiliterIndex, keyDemiliterIndex + keySplitterLength));
-				if (keySplitter.equals(keySplit)) {
-					break;
-				}
-			}
-			keyDemiliterIndex++;
+	private static void write(ByteArrayOutputStream out, byte[] data) {
+		if (data != null) {
+			out.write(data, 0, data.length);
 		}
-		return keyDemiliterIndex;
+	}
+
+	public PrivateKeyEntry loadP12(){
+		return keyManager.getDefaultKey();
 	}
 
 	/**
-	 * 
-	 * @param privateKey
-	 * @param keyModulus
-	 * @param data
-	 * @return
-	 * @throws IllegalBlockSizeException
-	 * @throws BadPaddingException
-	 * @throws NoSuchAlgorithmException
-	 * @throws NoSuchPaddingException
-	 * @throws InvalidAlgorithmParameterException
-	 * @throws InvalidKeyException
+	 * Picks the key by the certificate thumbprint the data starts with, so data
+	 * encrypted for the old and the new key both decrypt during a rotation.
 	 */
-	private static byte[] asymmetricDecrypt(PrivateKey privateKey, BigInteger keyModulus, byte[] data)
-			throws IllegalBlockSizeException, BadPaddingException, NoSuchAlgorithmException, NoSuchPaddingException,
-			InvalidAlgorithmParameterException, InvalidKeyException {
+	private PrivateKeyEntry selectKey(byte[] data, CryptoEnvelope envelope) {
+		if (!envelope.hasThumbprint()) {
+			return keyManager.getDefaultKey();
+		}
+		return keyManager.getKey(data, envelope.getThumbprintOffset(), envelope.getThumbprintLength());
+	}
 
-		Cipher cipher;
+	public byte[] decryptData(byte[] requestData, PrivateKeyEntry privateKey)  {
+		CryptoEnvelope envelope = CryptoEnvelope.parse(requestData, 0, requestData.length, isThumbprint);
 		try {
-			cipher = Cipher.getInstance(RSA_ECB_OAEP_PADDING);
-			OAEPParameterSpec oaepParams = new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256,
-					PSpecified.DEFAULT);
-			cipher.init(Cipher.DECRYPT_MODE, privateKey, oaepParams);
-			return cipher.doFinal(data);
-		} catch (java.security.NoSuchAlgorithmException e) {
-			printLogger.error("Not able to decrypt the data : {}" , e);
-			throw new NoSuchAlgorithmException(e);
-		} catch (NoSuchPaddingException e) {
-			throw new NoSuchPaddingException(e.getMessage());
-		} catch (java.security.InvalidKeyException e) {
-			throw new InvalidKeyException(e);
-		} catch (InvalidAlgorithmParameterException e) {
-			throw new InvalidAlgorithmParameterException(e);
+			return dataCipher(requestData, envelope, privateKey).doFinal(requestData, envelope.getCipherTextOffset(),
+					envelope.getCipherTextLength());
+		} catch (Exception e) {
+			printLogger.error( "Not able to decrypt the data : {}", e);
 		}
+		throw new CryptoManagerException(PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getCode(),
+				PlatformErrorMessages.PRT_UNKNOWN_DECRYPTION_EXCEPTION.getMessage());
 	}
 
-	private static byte[] symmetricDecrypt(SecretKey key, byte[] data, byte[] aad) {
-		byte[] output = null;
+	/**
+	 * Unwraps the session key, unless a redelivery of the same data already
+	 * did, and returns the AES-GCM cipher, initialized with the IV and the AAD,
+	 * ready for the cipher text of the envelope.
+	 */
+	private Cipher dataCipher(byte[] data, CryptoEnvelope envelope, PrivateKeyEntry privateKey)
+			throws GeneralSecurityException {
+		byte[] sessionKey = sessionKeyCache.get(privateKey.getPrivateKey(), data, envelope.getKeyOffset(),
+				envelope.getKeyLength());
+		if (sessionKey == null) {
+			sessionKey = cryptoEngine.rsaOaepDecrypt(privateKey.getPrivateKey(), data, envelope.getKeyOffset(),
+					envelope.getKeyLength());
+			sessionKeyCache.put(privateKey.getPrivateKey(), data, envelope.getKeyOffset(), envelope.getKeyLength(),
+					sessionKey);
+		}
+		Cipher cipher;
 		try {
-			Cipher cipher = Cipher.getInstance("AES/GCM/PKCS5Padding");
-			byte[] randomIV = Arrays.copyOfRange(data, data.length - cipher.getBlockSize(), data.length);
-			SecretKeySpec keySpec = new SecretKeySpec(key.getEncoded(), "AES");
-			GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(128, randomIV);
-
-			cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmParameterSpec);
-			if (aad != null && aad.length != 0) {
-				cipher.updateAAD(aad);
-			}
-			output = cipher.doFinal(Arrays.copyOf(data, data.length - cipher.getBlockSize()));
-		} catch (Exception e) {
+			cipher = cryptoEngine.aesGcmDecryptor(sessionKey, data, envelope.getIvOffset(), envelope.getIvLength());
+		} finally {
+			Arrays.fill(sessionKey, (byte) 0);
+		}
+		if (envelope.getAadLength() > 0) {
+			cipher.updateAAD(data, envelope.getAadOffset(), envelope.getAadLength());
+		}
+		return cipher;
+	}
 
+	public byte[] parseEncryptKeyHeader(byte[] encryptedKey) {
+		byte[] versionHeaderBytes = Arrays.copyOfRange(encryptedKey, 0, VERSION_RSA_2048.length);
+		if (!Arrays.equals(versionHeaderBytes, VERSION_RSA_2048)) {
+			return new byte[0];
 		}
-		return output;
+		return versionHeaderBytes;
 	}
 
 	public byte[] symmetricDecrypt(SecretKey key, byte[] data, byte[] nonce, byte[] aad)
@@ -223,10 +206,7 @@ public class CryptoCoreUtil {
 		byte[] output = null;
 		Cipher cipher;
 		try {
-			cipher = Cipher.getInstance("AES/GCM/PKCS5Padding");
-			SecretKeySpec keySpec = new SecretKeySpec(key.getEncoded(), "AES");
-			GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(128, nonce);
-			cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmParameterSpec);
+			cipher = cryptoEngine.aesGcmDecryptor(key.getEncoded(), nonce, 0, nonce.length);
 			if (aad != null) {
 				cipher.updateAAD(aad);
 			}
@@ -269,6 +249,11 @@ public class CryptoCoreUtil {
 					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage() , e);
 			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
 					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+		} catch (GeneralSecurityException e) {
+			printLogger.error(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
 		}
 		return output;
 	}
@@ -0,0 +1,165 @@
+package io.mosip.print.util;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.security.spec.MGF1ParameterSpec;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.PSource.PSpecified;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.logger.PrintLogger;
+
+/**
+ * The primitives of the decryption path: RSA-OAEP with SHA-256 to unwrap
+ * session keys, AES-GCM for the data, and PBKDF2 for PIN derived keys.
+ * <p>
+ * Looking up a provider and instantiating a {@link Cipher} costs more than
+ * unwrapping a key, so every thread keeps its own instances and
+ * re-initializes them. Each primitive can come from a different JCE provider:
+ * empty for the JDK default, {@code BC} for the bundled BouncyCastle, or the
+ * name of any installed provider.
+ */
+@Component
+public class CryptoEngine {
+
+	private Logger printLogger = PrintLogger.getLogger(CryptoEngine.class);
+
+	public static final String RSA_OAEP = "RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING";
+
+	public static final String AES_GCM = "AES/GCM/NoPadding";
+
+	public static final int GCM_TAG_LENGTH = 128;
+
+	private static final String BOUNCY_CASTLE = "BC";
+
+	private static final OAEPParameterSpec OAEP_SHA256 = new OAEPParameterSpec("SHA-256", "MGF1",
+			MGF1ParameterSpec.SHA256, PSpecified.DEFAULT);
+
+	@Value("${mosip.print.crypto.rsa-provider:${mosip.print.crypto.provider:}}")
+	private String rsaProvider = "";
+
+	@Value("${mosip.print.crypto.aes-provider:${mosip.print.crypto.provider:}}")
+	private String aesProvider = "";
+
+	@Value("${mosip.print.crypto.kdf-provider:${mosip.print.crypto.provider:}}")
+	private String kdfProvider = "";
+
+	private final ThreadLocal<Cipher> rsaCipher = ThreadLocal.withInitial(() -> cipher(RSA_OAEP, rsaProvider));
+
+	private final ThreadLocal<Cipher> aesCipher = ThreadLocal.withInitial(() -> cipher(AES_GCM, aesProvider));
+
+	private final ThreadLocal<SecretKeyFactory> keyFactory = new ThreadLocal<>();
+
+	@PostConstruct
+	public void init() {
+		if (BOUNCY_CASTLE.equals(rsaProvider) || BOUNCY_CASTLE.equals(aesProvider)
+				|| BOUNCY_CASTLE.equals(kdfProvider)) {
+			registerBouncyCastle();
+		}
+		// fail at startup on a provider that is missing or lacks a primitive
+		rsaCipher.get();
+		aesCipher.get();
+		printLogger.info("Crypto providers: RSA {}, AES {}, KDF {}", describe(rsaProvider), describe(aesProvider),
+				describe(kdfProvider));
+	}
+
+	/**
+	 * Adds BouncyCastle to the installed providers, after the JDK ones.
+	 */
+	public static void registerBouncyCastle() {
+		if (Security.getProvider(BOUNCY_CASTLE) == null) {
+			Security.addProvider(new BouncyCastleProvider());
+		}
+	}
+
+	/**
+	 * Unwraps an RSA-OAEP (SHA-256, MGF1 SHA-256) encrypted key.
+	 *
+	 * @param privateKey the key it was encrypted for
+	 * @param data       the data holding the encrypted key
+	 * @param offset     where the encrypted key starts
+	 * @param length     the length of the encrypted key
+	 * @return the key
+	 * @throws GeneralSecurityException if the key cannot be unwrapped
+	 */
+	public byte[] rsaOaepDecrypt(PrivateKey privateKey, byte[] data, int offset, int length)
+			throws GeneralSecurityException {
+		Cipher cipher = rsaCipher.get();
+		cipher.init(Cipher.DECRYPT_MODE, privateKey, OAEP_SHA256);
+		return cipher.doFinal(data, offset, length);
+	}
+
+	/**
+	 * Gets the AES-GCM cipher of this thread, initialized for decryption. It
+	 * must be used on this thread before the next call.
+	 *
+	 * @param key      the AES key
+	 * @param iv       the data holding the IV
+	 * @param ivOffset where the IV starts
+	 * @param ivLength the length of the IV
+	 * @return the cipher, ready for the AAD and cipher text
+	 * @throws GeneralSecurityException if the cipher cannot be initialized
+	 */
+	public Cipher aesGcmDecryptor(byte[] key, byte[] iv, int ivOffset, int ivLength) throws GeneralSecurityException {
+		Cipher cipher = aesCipher.get();
+		cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"),
+				new GCMParameterSpec(GCM_TAG_LENGTH, iv, ivOffset, ivLength));
+		return cipher;
+	}
+
+	/**
+	 * Derives a key from a password.
+	 *
+	 * @param algorithm  the algorithm, e.g. {@code PBKDF2WithHmacSHA512}
+	 * @param password   the password
+	 * @param salt       the salt
+	 * @param iterations the number of iterations
+	 * @param keyLength  the key length in bits
+	 * @return the key
+	 * @throws GeneralSecurityException if the key cannot be derived
+	 */
+	public byte[] deriveKey(String algorithm, char[] password, byte[] salt, int iterations, int keyLength)
+			throws GeneralSecurityException {
+		SecretKeyFactory factory = keyFactory.get();
+		if (factory == null || !factory.getAlgorithm().equals(algorithm)) {
+			factory = kdfProvider.isEmpty() ? SecretKeyFactory.getInstance(algorithm)
+					: SecretKeyFactory.getInstance(algorithm, kdfProvider);
+			keyFactory.set(factory);
+		}
+		PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
+		try {
+			return factory.generateSecret(spec).getEncoded();
+		} finally {
+			spec.clearPassword();
+		}
+	}
+
+	private static Cipher cipher(String transformation, String provider) {
+		try {
+			return provider.isEmpty() ? Cipher.getInstance(transformation)
+					: Cipher.getInstance(transformation, provider);
+		} catch (GeneralSecurityException e) {
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+		}
+	}
+
+	private static String describe(String provider) {
+		return provider.isEmpty() ? "default" : provider;
+	}
+
+}
@@ -0,0 +1,256 @@
+package io.mosip.print.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.exception.PlatformErrorMessages;
+
+/**
+ * The parts of data encrypted for the partner, located in place in the
+ * decoded bytes: optional version header and certificate thumbprint, the
+ * RSA wrapped session key, then {@code #KEY_SPLITTER#} and the AES-GCM data.
+ * Nothing is copied, every part is an offset and a length into the array.
+ * <p>
+ * {@code VER_R2} data carries a 32 byte AAD before the ciphertext whose first
+ * 12 bytes are the nonce. Older data has no AAD and carries the IV in its
+ * last 16 bytes.
+ */
+public final class CryptoEnvelope {
+
+	private static final byte[] KEY_SPLITTER = "#KEY_SPLITTER#".getBytes(StandardCharsets.US_ASCII);
+
+	/** Horspool shifts for the splitter. */
+	private static final int[] SPLITTER_SHIFT = new int[256];
+
+	private static final byte[] BASE64 = new byte[128];
+
+	private static final int THUMBPRINT_LENGTH = 32;
+
+	private static final int AAD_LENGTH = 32;
+
+	private static final int NONCE_LENGTH = 12;
+
+	private static final int LEGACY_IV_LENGTH = 16;
+
+	static {
+		Arrays.fill(SPLITTER_SHIFT, KEY_SPLITTER.length);
+		for (int i = 0; i < KEY_SPLITTER.length - 1; i++) {
+			SPLITTER_SHIFT[KEY_SPLITTER[i] & 0xff] = KEY_SPLITTER.length - 1 - i;
+		}
+		Arrays.fill(BASE64, (byte) -1);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+		for (int i = 0; i < alphabet.length(); i++) {
+			BASE64[alphabet.charAt(i)] = (byte) i;
+		}
+		// standard and URL safe alphabets alike
+		BASE64['+'] = BASE64['-'] = 62;
+		BASE64['/'] = BASE64['_'] = 63;
+	}
+
+	private final boolean versioned;
+
+	private final int thumbprintOffset;
+
+	private final int keyOffset;
+
+	private final int keyLength;
+
+	private final int ivOffset;
+
+	private final int ivLength;
+
+	private final int aadOffset;
+
+	private final int aadLength;
+
+	private final int cipherTextOffset;
+
+	private final int cipherTextLength;
+
+	private CryptoEnvelope(boolean versioned, int thumbprintOffset, int keyOffset, int keyLength, int dataOffset,
+			int dataEnd) {
+		this.versioned = versioned;
+		this.thumbprintOffset = thumbprintOffset;
+		this.keyOffset = keyOffset;
+		this.keyLength = keyLength;
+		if (versioned) {
+			checkLength(dataEnd - dataOffset >= AAD_LENGTH);
+			ivOffset = dataOffset;
+			ivLength = NONCE_LENGTH;
+			aadOffset = dataOffset;
+			aadLength = AAD_LENGTH;
+			cipherTextOffset = dataOffset + AAD_LENGTH;
+			cipherTextLength = dataEnd - cipherTextOffset;
+		} else {
+			checkLength(dataEnd - dataOffset >= LEGACY_IV_LENGTH);
+			ivOffset = dataEnd - LEGACY_IV_LENGTH;
+			ivLength = LEGACY_IV_LENGTH;
+			aadOffset = dataOffset;
+			aadLength = 0;
+			cipherTextOffset = dataOffset;
+			cipherTextLength = dataEnd - LEGACY_IV_LENGTH - dataOffset;
+		}
+	}
+
+	/**
+	 * Locates the parts of the encrypted data.
+	 *
+	 * @param data       the decoded data
+	 * @param offset     where the data starts
+	 * @param length     the length of the data
+	 * @param thumbprint whether unversioned data starts with a thumbprint
+	 * @return the envelope
+	 */
+	public static CryptoEnvelope parse(byte[] data, int offset, int length, boolean thumbprint) {
+		int end = offset + length;
+		int splitter = indexOfSplitter(data, offset, end);
+		checkLength(splitter >= 0);
+		boolean versioned = startsWith(data, offset, end, CryptoCoreUtil.VERSION_RSA_2048);
+		int keyOffset;
+		int thumbprintOffset = -1;
+		if (versioned) {
+			thumbprintOffset = offset + CryptoCoreUtil.VERSION_RSA_2048.length;
+			keyOffset = thumbprintOffset + THUMBPRINT_LENGTH;
+		} else if (thumbprint) {
+			thumbprintOffset = offset;
+			keyOffset = offset + THUMBPRINT_LENGTH;
+		} else {
+			keyOffset = offset;
+		}
+		checkLength(keyOffset < splitter);
+		return new CryptoEnvelope(versioned, thumbprintOffset, keyOffset, splitter - keyOffset,
+				splitter + KEY_SPLITTER.length, end);
+	}
+
+	/**
+	 * Decodes Base64 of either alphabet into the array, skipping line breaks
+	 * and other characters outside the alphabet.
+	 *
+	 * @param src the Base64 text
+	 * @param dst the target, at least {@link #maxDecodedLength(String)} long
+	 * @return the number of bytes written
+	 */
+	public static int decodeBase64(String src, byte[] dst) {
+		int bits = 0;
+		int count = 0;
+		int out = 0;
+		for (int i = 0, n = src.length(); i < n; i++) {
+			char c = src.charAt(i);
+			if (c == '=') {
+				break;
+			}
+			int value = c < 128 ? BASE64[c] : -1;
+			if (value < 0) {
+				continue;
+			}
+			bits = bits << 6 | value;
+			if (++count == 4) {
+				dst[out++] = (byte) (bits >> 16);
+				dst[out++] = (byte) (bits >> 8);
+				dst[out++] = (byte) bits;
+				bits = 0;
+				count = 0;
+			}
+		}
+		if (count == 2) {
+			dst[out++] = (byte) (bits >> 4);
+		} else if (count == 3) {
+			dst[out++] = (byte) (bits >> 10);
+			dst[out++] = (byte) (bits >> 2);
+		}
+		return out;
+	}
+
+	/**
+	 * Gets the most bytes the Base64 text can decode to.
+	 *
+	 * @param src the Base64 text
+	 * @return the length
+	 */
+	public static int maxDecodedLength(String src) {
+		return src.length() / 4 * 3 + 3;
+	}
+
+	private static int indexOfSplitter(byte[] data, int from, int to) {
+		int last = KEY_SPLITTER.length - 1;
+		for (int i = from; i + last < to; i += SPLITTER_SHIFT[data[i + last] & 0xff]) {
+			int j = last;
+			while (data[i + j] == KEY_SPLITTER[j]) {
+				if (j == 0) {
+					return i;
+				}
+				j--;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean startsWith(byte[] data, int offset, int end, byte[] prefix) {
+		if (end - offset < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (data[offset + i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void checkLength(boolean valid) {
+		if (!valid) {
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_ENCRYPTED_DATA.getCode(),
+					PlatformErrorMessages.PRT_INVALID_ENCRYPTED_DATA.getMessage());
+		}
+	}
+
+	public boolean isVersioned() {
+		return versioned;
+	}
+
+	public boolean hasThumbprint() {
+		return thumbprintOffset >= 0;
+	}
+
+	public int getThumbprintOffset() {
+		return thumbprintOffset;
+	}
+
+	public int getThumbprintLength() {
+		return THUMBPRINT_LENGTH;
+	}
+
+	public int getKeyOffset() {
+		return keyOffset;
+	}
+
+	public int getKeyLength() {
+		return keyLength;
+	}
+
+	public int getIvOffset() {
+		return ivOffset;
+	}
+
+	public int getIvLength() {
+		return ivLength;
+	}
+
+	public int getAadOffset() {
+		return aadOffset;
+	}
+
+	public int getAadLength() {
+		return aadLength;
+	}
+
+	public int getCipherTextOffset() {
+		return cipherTextOffset;
+	}
+
+	public int getCipherTextLength() {
+		return cipherTextLength;
+	}
+
+}
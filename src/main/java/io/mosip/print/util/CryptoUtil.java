@@ -1,5 +1,6 @@
 package io.mosip.print.util;
 
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -9,15 +10,11 @@ import java.util.Arrays;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.GCMParameterSpec;
-import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
-import javax.xml.bind.DatatypeConverter;
 
 import org.apache.commons.codec.binary.Base64;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -31,10 +28,14 @@ public class CryptoUtil {
 
 	private static final int GCM_NONCE_LENGTH = 12;
 
+	private static final int GCM_IV_BLOCK_LENGTH = 16;
+
 	private static final int PBE_SALT_LENGTH = 32;
 
 	private static final String AES_KEY_TYPE = "AES";
 
+	@Autowired
+	private CryptoEngine cryptoEngine;
 
 	@Value("${mosip.kernel.crypto.hash-symmetric-key-length:256}")
 	private int symmetricKeyLength;
@@ -83,37 +84,31 @@ public class CryptoUtil {
 		if (iv == null) {
 			return symmetricDecrypt(key, data, aad);
 		}
-		Cipher cipher = null;
+		Cipher cipher;
 		try {
-			cipher = Cipher.getInstance("AES/GCM/PKCS5Padding");
-		} catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+			cipher = cryptoEngine.aesGcmDecryptor(key.getEncoded(), iv, 0, iv.length);
+		} catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
+			throw e;
+		} catch (GeneralSecurityException e) {
 			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
 					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
 		}
-
-
-			SecretKeySpec keySpec = new SecretKeySpec(key.getEncoded(), "AES");
-			GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(128, iv);
-			cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmParameterSpec);
-			if (aad != null) {
-				cipher.updateAAD(aad);
-			}
-			return cipher.doFinal(data);
+		if (aad != null) {
+			cipher.updateAAD(aad);
+		}
+		return cipher.doFinal(data);
 	}
 
-	private static byte[] symmetricDecrypt(SecretKey key, byte[] data, byte[] aad) {
+	private byte[] symmetricDecrypt(SecretKey key, byte[] data, byte[] aad) {
 		byte[] output = null;
 		try {
-			Cipher cipher = Cipher.getInstance("AES/GCM/PKCS5Padding");
-			byte[] randomIV = Arrays.copyOfRange(data, data.length - cipher.getBlockSize(), data.length);
-			SecretKeySpec keySpec = new SecretKeySpec(key.getEncoded(), "AES");
-			GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(128, randomIV);
-
-			cipher.init(Cipher.DECRYPT_MODE, keySpec, gcmParameterSpec);
+			// the IV is the trailing block of the data
+			int length = data.length - GCM_IV_BLOCK_LENGTH;
+			Cipher cipher = cryptoEngine.aesGcmDecryptor(key.getEncoded(), data, length, GCM_IV_BLOCK_LENGTH);
 			if (aad != null && aad.length != 0) {
 				cipher.updateAAD(aad);
 			}
-			output = cipher.doFinal(Arrays.copyOf(data, data.length - cipher.getBlockSize()));
+			output = cipher.doFinal(data, 0, length);
 		} catch (Exception e) {
 			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
 					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
@@ -122,47 +117,15 @@ public class CryptoUtil {
 	}
 	private SecretKey getDerivedKey(String userPin, byte[] salt)
 			throws NoSuchAlgorithmException, InvalidKeySpecException {
-		String derivedKeyHex = hash(userPin.getBytes(), salt);
-		byte[] derivedKey = hexDecode(derivedKeyHex);
-		return new SecretKeySpec(derivedKey, AES_KEY_TYPE);
-	}
-
-	private String hash(byte[] data, byte[] salt) {
-		SecretKeyFactory secretKeyFactory;
-		char[] convertedData = new String(data).toCharArray();
-		PBEKeySpec pbeKeySpec = new PBEKeySpec(convertedData, salt, iterations, symmetricKeyLength);
-		SecretKey key = null;
 		try {
-			secretKeyFactory = SecretKeyFactory.getInstance(passwordAlgorithm);
-			key = secretKeyFactory.generateSecret(pbeKeySpec);
-		} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+			return new SecretKeySpec(cryptoEngine.deriveKey(passwordAlgorithm, userPin.toCharArray(), salt, iterations,
+					symmetricKeyLength), AES_KEY_TYPE);
+		} catch (GeneralSecurityException e) {
 			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
 					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
 		}
-
-		return DatatypeConverter.printHexBinary(key.getEncoded());
 	}
 
-	private byte[] hexDecode(String hexData) {
-
-		char[] hexDataCharArr = hexData.toCharArray();
-		int dataLength = hexDataCharArr.length;
-
-		if ((dataLength & 0x01) != 0) {
-			throw new io.mosip.print.exception.ParseException(hexData, hexData);
-		}
-
-		byte[] decodedBytes = new byte[dataLength >> 1];
-
-		for (int i = 0, j = 0; j < dataLength; i++) {
-			int f = Character.digit(hexDataCharArr[j], 16) << 4;
-			j++;
-			f = f | Character.digit(hexDataCharArr[j], 16);
-			j++;
-			decodedBytes[i] = (byte) (f & 0xFF);
-		}
-		return decodedBytes;
-	}
 	/*
 	 * public SignatureResponseDto signPDF(PDFSignatureRequestDto request) {
 	 * SignatureCertificate signatureCertificate =
@@ -0,0 +1,244 @@
+package io.mosip.print.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.EventModel;
+
+/**
+ * Suppresses duplicate deliveries of the same event. An event is a duplicate
+ * when its id or its transaction id matches one seen within the TTL. A
+ * duplicate of an in-flight event gets the running job's result; a duplicate
+ * of a successfully completed event gets the stored result without printing
+ * again. Failed jobs are forgotten so a redelivery retries them.
+ * <p>
+ * Print queue workers, virtual threads in the {@code jdk21} mode, all call
+ * it, so it is guarded by a {@link ReentrantLock} rather than a monitor.
+ */
+@Component
+public class EventDeduplicationCache {
+
+	private Logger printLogger = PrintLogger.getLogger(EventDeduplicationCache.class);
+
+	private static final String ID_PREFIX = "id:";
+
+	private static final String TRANSACTION_PREFIX = "tx:";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.dedup.enabled:true}")
+	private boolean enabled;
+
+	@Value("${mosip.print.dedup.max-entries:10000}")
+	private int maxEntries;
+
+	@Value("${mosip.print.dedup.ttl-seconds:600}")
+	private long ttlSeconds;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** One entry per event, in eviction order. */
+	private final LinkedHashSet<Entry> entries = new LinkedHashSet<>();
+
+	/** An event has up to two keys sharing its entry, added and removed together. */
+	private final Map<String, Entry> index = new HashMap<>();
+
+	private Counter inFlightHits;
+
+	private Counter completedHits;
+
+	private Counter misses;
+
+	@PostConstruct
+	public void init() {
+		inFlightHits = Counter.builder("print.dedup.hit").tag("state", "inflight")
+				.description("Duplicate deliveries attached to a running job").register(meterRegistry);
+		completedHits = Counter.builder("print.dedup.hit").tag("state", "completed")
+				.description("Duplicate deliveries answered from a completed job").register(meterRegistry);
+		misses = Counter.builder("print.dedup.miss").register(meterRegistry);
+		meterRegistry.gauge("print.dedup.size", entries, LinkedHashSet::size);
+	}
+
+	/**
+	 * Runs the job for the event unless a duplicate is in flight or recently
+	 * completed.
+	 *
+	 * @param eventModel the received event
+	 * @param job        starts printing the event
+	 * @return the result of this or the earlier delivery
+	 */
+	public CompletableFuture<Boolean> submit(EventModel eventModel,
+			Function<EventModel, CompletableFuture<Boolean>> job) {
+		if (!enabled) {
+			return job.apply(eventModel);
+		}
+		Event event = eventModel.getEvent();
+		String idKey = event.getId() == null ? null : ID_PREFIX + event.getId();
+		String transactionKey = event.getTransactionId() == null ? null
+				: TRANSACTION_PREFIX + event.getTransactionId();
+		Entry entry;
+		lock.lock();
+		try {
+			long now = System.nanoTime();
+			purgeExpired(now);
+			Entry existing = lookup(idKey, now);
+			if (existing == null) {
+				existing = lookup(transactionKey, now);
+			}
+			if (existing != null) {
+				(existing.completed ? completedHits : inFlightHits).increment();
+				printLogger.info("duplicate delivery suppressed for event id: {}, transaction id: {}", event.getId(),
+						event.getTransactionId());
+				return existing.result;
+			}
+			misses.increment();
+			entry = new Entry(idKey, transactionKey);
+			put(entry);
+		} finally {
+			lock.unlock();
+		}
+		CompletableFuture<Boolean> result;
+		try {
+			result = job.apply(eventModel);
+		} catch (RuntimeException e) {
+			forget(entry);
+			entry.result.completeExceptionally(e);
+			throw e;
+		}
+		result.whenComplete((printed, error) -> {
+			if (error == null && Boolean.TRUE.equals(printed)) {
+				markCompleted(entry);
+			} else {
+				forget(entry);
+			}
+			if (error != null) {
+				entry.result.completeExceptionally(error);
+			} else {
+				entry.result.complete(printed);
+			}
+		});
+		return entry.result;
+	}
+
+	private Entry lookup(String key, long now) {
+		if (key == null) {
+			return null;
+		}
+		Entry entry = index.get(key);
+		if (entry != null && entry.completed && entry.expiresAt - now <= 0) {
+			return null;
+		}
+		return entry;
+	}
+
+	private void put(Entry entry) {
+		entries.add(entry);
+		if (entries.size() > maxEntries) {
+			remove(entries.iterator().next());
+		}
+		if (entry.idKey != null) {
+			index.put(entry.idKey, entry);
+		}
+		if (entry.transactionKey != null) {
+			index.put(entry.transactionKey, entry);
+		}
+	}
+
+	private void markCompleted(Entry entry) {
+		lock.lock();
+		try {
+			entry.completed = true;
+			entry.expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+			// re-insert so the index stays in expiry order
+			if (remove(entry)) {
+				put(entry);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void forget(Entry entry) {
+		lock.lock();
+		try {
+			remove(entry);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean remove(Entry entry) {
+		if (!entries.remove(entry)) {
+			return false;
+		}
+		removeKeys(entry);
+		return true;
+	}
+
+	/** A key is only removed while it still points to the entry. */
+	private void removeKeys(Entry entry) {
+		if (entry.idKey != null) {
+			index.remove(entry.idKey, entry);
+		}
+		if (entry.transactionKey != null) {
+			index.remove(entry.transactionKey, entry);
+		}
+	}
+
+	/**
+	 * Completed entries are moved to the tail when they complete, so they sit in
+	 * expiry order behind the in-flight ones.
+	 */
+	private void purgeExpired(long now) {
+		Iterator<Entry> it = entries.iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (!entry.completed) {
+				continue;
+			}
+			if (entry.expiresAt - now > 0) {
+				return;
+			}
+			it.remove();
+			removeKeys(entry);
+		}
+	}
+
+	private static class Entry {
+
+		private final String idKey;
+
+		private final String transactionKey;
+
+		private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+		private boolean completed;
+
+		private long expiresAt;
+
+		private Entry(String idKey, String transactionKey) {
+			this.idKey = idKey;
+			this.transactionKey = transactionKey;
+		}
+
+	}
+
+}
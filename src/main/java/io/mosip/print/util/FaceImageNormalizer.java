@@ -0,0 +1,278 @@
+package io.mosip.print.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.print.constant.FaceImageDataType;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.model.FaceImage;
+
+/**
+ * Brings the captured face image down to what the card prints: decoded once,
+ * downscaled to fit the photo box at the print resolution and encoded as a
+ * compact JPEG. Results are kept by the SHA-256 of the captured image, so a
+ * reprint of the same credential skips the work.
+ */
+@Component
+public class FaceImageNormalizer {
+
+	private Logger printLogger = PrintLogger.getLogger(FaceImageNormalizer.class);
+
+	private static final double MM_PER_INCH = 25.4;
+
+	/** Remembers an image this JVM has no reader for. */
+	private static final byte[] NOT_DECODABLE = new byte[0];
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.face.normalize.dpi:300}")
+	private int dpi;
+
+	@Value("${mosip.print.face.normalize.width-mm:35}")
+	private double widthMm;
+
+	@Value("${mosip.print.face.normalize.height-mm:45}")
+	private double heightMm;
+
+	@Value("${mosip.print.face.normalize.jpeg-quality:0.85}")
+	private float jpegQuality;
+
+	@Value("${mosip.print.face.normalize.cache.max-entries:256}")
+	private int maxEntries;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** In access order, the least recently printed face is evicted first. */
+	private final LinkedHashMap<ByteBuffer, byte[]> index = new LinkedHashMap<ByteBuffer, byte[]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, byte[]> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private Counter hits;
+
+	private Counter misses;
+
+	@PostConstruct
+	public void init() {
+		hits = Counter.builder("print.face.normalize.hit")
+				.description("Face images taken from the normalized image cache").register(meterRegistry);
+		misses = Counter.builder("print.face.normalize.miss")
+				.description("Face images decoded, downscaled and encoded").register(meterRegistry);
+		meterRegistry.gauge("print.face.normalize.size", index, Map::size);
+	}
+
+	/**
+	 * Normalizes a face image of whatever type its signature shows.
+	 *
+	 * @param image the captured image
+	 * @return the JPEG to print, or null if the image format cannot be decoded
+	 * @see #normalize(FaceImage)
+	 */
+	public byte[] normalize(byte[] image) {
+		return normalize(FaceImage.of(image));
+	}
+
+	/**
+	 * Normalizes a face image, decoded by a reader for its image type. The
+	 * returned array is shared with the cache and must not be modified. An
+	 * image that fails to decode is not cached, only one of a type this JVM
+	 * has no reader for.
+	 *
+	 * @param image the captured image, e.g. the image of an ISO 19794-5 record
+	 * @return the JPEG to print, or null if the image format cannot be decoded
+	 */
+	public byte[] normalize(FaceImage image) {
+		ByteBuffer id = id(image.getImageData());
+		lock.lock();
+		try {
+			byte[] normalized = index.get(id);
+			if (normalized != null) {
+				hits.increment();
+				return normalized == NOT_DECODABLE ? null : normalized;
+			}
+		} finally {
+			lock.unlock();
+		}
+		misses.increment();
+		byte[] normalized = transcode(image);
+		if (normalized == null) {
+			return null;
+		}
+		lock.lock();
+		try {
+			index.put(id, normalized);
+		} finally {
+			lock.unlock();
+		}
+		return normalized == NOT_DECODABLE ? null : normalized;
+	}
+
+	/**
+	 * Transcodes the image to the JPEG to print.
+	 *
+	 * @return the JPEG, {@link #NOT_DECODABLE} if there is no reader for the
+	 *         image, or null if it could not be read
+	 */
+	private byte[] transcode(FaceImage image) {
+		int maxWidth = (int) Math.round(widthMm / MM_PER_INCH * dpi);
+		int maxHeight = (int) Math.round(heightMm / MM_PER_INCH * dpi);
+		try {
+			BufferedImage decoded = decode(image, maxWidth, maxHeight);
+			if (decoded == null) {
+				printLogger.debug("No image reader for the face image, it is printed as captured");
+				return NOT_DECODABLE;
+			}
+			byte[] jpeg = encodeJpeg(downscale(decoded, maxWidth, maxHeight));
+			// a JPEG capture that already fits the box may not get any smaller; a
+			// subsampled one is still twice the box, so it never fits
+			boolean fits = decoded.getWidth() <= maxWidth && decoded.getHeight() <= maxHeight;
+			boolean jpegCapture = image.getImageDataType() == FaceImageDataType.JPEG;
+			return fits && jpegCapture && image.getLength() <= jpeg.length ? image.toByteArray() : jpeg;
+		} catch (IOException | RuntimeException e) {
+			printLogger.error("Face image could not be normalized, it is printed as captured", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the image with the first reader registered for its MIME type, or
+	 * with any reader that recognizes it if the type is not known. A large
+	 * image is subsampled as it is decoded, so it is never held at full
+	 * resolution.
+	 *
+	 * @return the image, or null if there is no reader for it
+	 */
+	private static BufferedImage decode(FaceImage image, int maxWidth, int maxHeight) throws IOException {
+		ByteBuffer data = image.getImageData();
+		ByteArrayInputStream bytes = data.hasArray()
+				? new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining())
+				: new ByteArrayInputStream(image.toByteArray());
+		try (ImageInputStream in = new MemoryCacheImageInputStream(bytes)) {
+			Iterator<ImageReader> readers = image.getImageDataType() == FaceImageDataType.UNKNOWN
+					? ImageIO.getImageReaders(in)
+					: ImageIO.getImageReadersByMIMEType(image.getImageDataType().getMimeType());
+			if (!readers.hasNext()) {
+				return null;
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(in, true, true);
+				int period = subsampling(reader.getWidth(0), reader.getHeight(0), maxWidth, maxHeight);
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(period, period, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Gets the subsampling period that decodes the image to no less than twice
+	 * the box, so the bilinear downscale that follows still smooths over the
+	 * pixels that were skipped.
+	 */
+	private static int subsampling(int width, int height, int maxWidth, int maxHeight) {
+		double ratio = Math.max((double) width / maxWidth, (double) height / maxHeight);
+		return Math.max(1, (int) (ratio / 2));
+	}
+
+	/**
+	 * Scales the image to fit the box, never up, halving it first while it is
+	 * more than twice too large so that bilinear filtering keeps its detail.
+	 */
+	private static BufferedImage downscale(BufferedImage image, int maxWidth, int maxHeight) {
+		double scale = Math.min(1d, Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight()));
+		int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+		int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+		BufferedImage current = image;
+		while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+			current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+		}
+		if (current.getWidth() != width || current.getHeight() != height
+				|| current.getType() != BufferedImage.TYPE_INT_RGB) {
+			current = resize(current, width, height);
+		}
+		return current;
+	}
+
+	/** Draws the image into an opaque RGB image, as JPEG has no alpha. */
+	private static BufferedImage resize(BufferedImage image, int width, int height) {
+		BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = resized.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+		} finally {
+			g.dispose();
+		}
+		return resized;
+	}
+
+	private byte[] encodeJpeg(BufferedImage image) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+		if (!writers.hasNext()) {
+			throw new IOException("No JPEG image writer");
+		}
+		ImageWriter writer = writers.next();
+		ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+		try (ImageOutputStream out = new MemoryCacheImageOutputStream(jpeg)) {
+			ImageWriteParam param = writer.getDefaultWriteParam();
+			param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			param.setCompressionQuality(jpegQuality);
+			writer.setOutput(out);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return jpeg.toByteArray();
+	}
+
+	private static ByteBuffer id(ByteBuffer image) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(image);
+			return ByteBuffer.wrap(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
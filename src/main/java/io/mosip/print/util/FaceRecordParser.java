@@ -0,0 +1,338 @@
+package io.mosip.print.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.mosip.print.constant.FaceImageDataType;
+import io.mosip.print.exception.BiometricException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.model.FaceImage;
+
+/**
+ * Locates the images of a face record in place. Reads ISO/IEC 19794-5:2005
+ * (version {@code 010}) and 19794-5:2011 (version {@code 030}) records, and
+ * the DER encoded face image data block of ISO/IEC 39794-5. Offsets are
+ * computed from the length fields, and every length is checked against the
+ * block that holds it before anything is read, so a truncated or inconsistent
+ * record is rejected rather than read past. The images are views of the
+ * record, not copies.
+ */
+public final class FaceRecordParser {
+
+	/** {@code FAC\0} */
+	private static final int FORMAT_IDENTIFIER = 0x46414300;
+
+	/** {@code 010\0} */
+	private static final int VERSION_2005 = 0x30313000;
+
+	/** {@code 030\0} */
+	private static final int VERSION_2011 = 0x30333000;
+
+	/** Format identifier, version, record length and number of images. */
+	private static final int HEADER_LENGTH_2005 = 14;
+
+	/** The 2005 header, certification flag and temporal semantics. */
+	private static final int HEADER_LENGTH_2011 = 17;
+
+	/** Block length, number of feature points and facial information. */
+	private static final int FACIAL_INFORMATION_LENGTH_2005 = 20;
+
+	/** Face image type, image data type, width, height, colour space, source and device type, quality. */
+	private static final int IMAGE_INFORMATION_LENGTH_2005 = 12;
+
+	/** Representation length, capture date and time, capture device technology, vendor and type. */
+	private static final int CAPTURE_DETAILS_LENGTH_2011 = 18;
+
+	private static final int QUALITY_BLOCK_LENGTH = 5;
+
+	/** Gender, eye and hair colour, height, property mask, expression, pose angle and uncertainty. */
+	private static final int FACIAL_INFORMATION_LENGTH_2011 = 15;
+
+	private static final int LANDMARK_POINT_LENGTH = 8;
+
+	/** Face image type, image data type, width, height, sampling rate, processing, cross reference, colour space. */
+	private static final int IMAGE_INFORMATION_LENGTH_2011 = 11;
+
+	/** [APPLICATION 5] of ISO/IEC 39794-5, constructed. */
+	private static final int FACE_IMAGE_DATA_BLOCK = 0x65;
+
+	private static final int SEQUENCE = 0x30;
+
+	private FaceRecordParser() {
+	}
+
+	/**
+	 * Gets the face images of the record, in the order of their
+	 * representations. Representations without a 2D image, such as a 39794-5
+	 * 3D shape, are left out.
+	 *
+	 * @param record the record, from its position to its limit
+	 * @return the images, at least one
+	 * @throws BiometricException if the record is malformed or has no image
+	 */
+	public static List<FaceImage> parse(ByteBuffer record) throws BiometricException {
+		// positions from here on are relative to the start of the record
+		ByteBuffer buffer = record.slice();
+		check(buffer.remaining() >= 8);
+		List<FaceImage> images;
+		if ((buffer.get(0) & 0xff) == FACE_IMAGE_DATA_BLOCK) {
+			images = parse39794(buffer);
+		} else {
+			check(buffer.getInt(0) == FORMAT_IDENTIFIER);
+			int version = buffer.getInt(4);
+			check(version == VERSION_2005 || version == VERSION_2011);
+			images = version == VERSION_2005 ? parse2005(buffer) : parse2011(buffer);
+		}
+		check(!images.isEmpty());
+		return images;
+	}
+
+	/**
+	 * Gets the first face image of the record.
+	 *
+	 * @param record the record
+	 * @return the image
+	 * @throws BiometricException if the record is malformed or has no image
+	 */
+	public static FaceImage parseFirst(byte[] record) throws BiometricException {
+		return parse(ByteBuffer.wrap(record)).get(0);
+	}
+
+	private static List<FaceImage> parse2005(ByteBuffer buffer) throws BiometricException {
+		int recordEnd = recordEnd(buffer, HEADER_LENGTH_2005);
+		int count = buffer.getShort(12) & 0xffff;
+		List<FaceImage> images = new ArrayList<>(count);
+		int offset = HEADER_LENGTH_2005;
+		for (int i = 0; i < count; i++) {
+			int end = blockEnd(buffer, offset, recordEnd, FACIAL_INFORMATION_LENGTH_2005 + IMAGE_INFORMATION_LENGTH_2005);
+			int featurePoints = buffer.getShort(offset + 4) & 0xffff;
+			int imageInformation = offset + FACIAL_INFORMATION_LENGTH_2005;
+			check(featurePoints * LANDMARK_POINT_LENGTH <= end - imageInformation - IMAGE_INFORMATION_LENGTH_2005);
+			imageInformation += featurePoints * LANDMARK_POINT_LENGTH;
+			int imageData = imageInformation + IMAGE_INFORMATION_LENGTH_2005;
+			images.add(image(buffer, imageData, end - imageData, imageDataType2005(buffer.get(imageInformation + 1)),
+					buffer.getShort(imageInformation + 2) & 0xffff, buffer.getShort(imageInformation + 4) & 0xffff));
+			offset = end;
+		}
+		return images;
+	}
+
+	private static List<FaceImage> parse2011(ByteBuffer buffer) throws BiometricException {
+		int recordEnd = recordEnd(buffer, HEADER_LENGTH_2011);
+		int count = buffer.getShort(12) & 0xffff;
+		List<FaceImage> images = new ArrayList<>(count);
+		int offset = HEADER_LENGTH_2011;
+		for (int i = 0; i < count; i++) {
+			int end = blockEnd(buffer, offset, recordEnd, CAPTURE_DETAILS_LENGTH_2011 + 1);
+			int position = offset + CAPTURE_DETAILS_LENGTH_2011;
+			int qualityBlocks = buffer.get(position) & 0xff;
+			position += 1;
+			check(qualityBlocks * QUALITY_BLOCK_LENGTH + 2 <= end - position);
+			position += qualityBlocks * QUALITY_BLOCK_LENGTH;
+			int landmarkPoints = buffer.getShort(position) & 0xffff;
+			position += 2;
+			check(FACIAL_INFORMATION_LENGTH_2011 + landmarkPoints * LANDMARK_POINT_LENGTH
+					+ IMAGE_INFORMATION_LENGTH_2011 + 4 <= end - position);
+			int imageInformation = position + FACIAL_INFORMATION_LENGTH_2011 + landmarkPoints * LANDMARK_POINT_LENGTH;
+			int imageData = imageInformation + IMAGE_INFORMATION_LENGTH_2011 + 4;
+			long imageLength = buffer.getInt(imageData - 4) & 0xffffffffL;
+			// a 3D representation carries its shape after the image
+			check(imageLength <= end - imageData);
+			images.add(image(buffer, imageData, (int) imageLength, imageDataType2011(buffer.get(imageInformation + 1)),
+					buffer.getShort(imageInformation + 2) & 0xffff, buffer.getShort(imageInformation + 4) & 0xffff));
+			offset = end;
+		}
+		return images;
+	}
+
+	/**
+	 * Follows the face image data block to the 2D image of each
+	 * representation block: {@code representationBlocks [1]}, then
+	 * {@code imageRepresentation [1]}, its {@code base [0]} 2D block, and in it
+	 * {@code representationData2D [0]} and {@code imageInformation2DBlock [1]}.
+	 */
+	private static List<FaceImage> parse39794(ByteBuffer buffer) throws BiometricException {
+		Tlv block = Tlv.read(buffer, 0, buffer.limit());
+		check(block.tag == FACE_IMAGE_DATA_BLOCK);
+		Tlv representations = block.child(buffer, 0xa1);
+		check(representations != null);
+		List<FaceImage> images = new ArrayList<>();
+		for (Tlv representation = representations.first(buffer); representation != null; representation = representations
+				.next(buffer, representation)) {
+			check(representation.tag == SEQUENCE);
+			Tlv imageRepresentation = representation.child(buffer, 0xa1);
+			Tlv image2D = imageRepresentation == null ? null : imageRepresentation.child(buffer, 0xa0);
+			if (image2D == null) {
+				continue;
+			}
+			Tlv imageData = image2D.child(buffer, 0x80);
+			Tlv imageInformation = image2D.child(buffer, 0xa1);
+			check(imageData != null && imageInformation != null);
+			// imageDataFormat is a choice, its code [0] is inside the tag
+			Tlv imageDataFormat = imageInformation.child(buffer, 0xa0);
+			Tlv code = imageDataFormat == null ? null : imageDataFormat.child(buffer, 0x80);
+			Tlv imageSize = imageInformation.child(buffer, 0xa7);
+			images.add(image(buffer, imageData.offset, imageData.length,
+					imageDataType39794(code == null ? -1 : integer(buffer, code)),
+					imageSize == null ? 0 : integer(buffer, imageSize.child(buffer, 0x80)),
+					imageSize == null ? 0 : integer(buffer, imageSize.child(buffer, 0x81))));
+		}
+		return images;
+	}
+
+	private static FaceImage image(ByteBuffer buffer, int offset, int length, FaceImageDataType type, int width,
+			int height) throws BiometricException {
+		check(length > 0);
+		ByteBuffer imageData = buffer.duplicate();
+		imageData.limit(offset + length).position(offset);
+		return new FaceImage(type == FaceImageDataType.UNKNOWN ? FaceImageDataType.detect(imageData) : type, width,
+				height, imageData);
+	}
+
+	private static int recordEnd(ByteBuffer buffer, int headerLength) throws BiometricException {
+		check(buffer.remaining() >= headerLength);
+		long recordLength = buffer.getInt(8) & 0xffffffffL;
+		check(recordLength >= headerLength && recordLength <= buffer.remaining());
+		return (int) recordLength;
+	}
+
+	/** Checks the length a block starts with, which counts its own four bytes. */
+	private static int blockEnd(ByteBuffer buffer, int offset, int recordEnd, int minLength) throws BiometricException {
+		check(recordEnd - offset >= 4);
+		long length = buffer.getInt(offset) & 0xffffffffL;
+		check(length >= minLength && length <= recordEnd - offset);
+		return offset + (int) length;
+	}
+
+	private static FaceImageDataType imageDataType2005(byte imageDataType) {
+		switch (imageDataType) {
+		case 0:
+			return FaceImageDataType.JPEG;
+		case 1:
+			return FaceImageDataType.JPEG2000;
+		default:
+			return FaceImageDataType.UNKNOWN;
+		}
+	}
+
+	private static FaceImageDataType imageDataType2011(byte imageDataType) {
+		switch (imageDataType) {
+		case 0:
+			return FaceImageDataType.JPEG;
+		case 1:
+		case 2:
+			// lossy and lossless
+			return FaceImageDataType.JPEG2000;
+		case 3:
+			return FaceImageDataType.PNG;
+		default:
+			return FaceImageDataType.UNKNOWN;
+		}
+	}
+
+	private static FaceImageDataType imageDataType39794(int code) {
+		switch (code) {
+		case 2:
+			return FaceImageDataType.JPEG;
+		case 3:
+		case 4:
+			return FaceImageDataType.JPEG2000;
+		case 5:
+			return FaceImageDataType.PNG;
+		default:
+			return FaceImageDataType.UNKNOWN;
+		}
+	}
+
+	private static int integer(ByteBuffer buffer, Tlv value) throws BiometricException {
+		check(value != null && value.length >= 1 && value.length <= 4);
+		int integer = buffer.get(value.offset);
+		for (int i = 1; i < value.length; i++) {
+			integer = (integer << 8) | (buffer.get(value.offset + i) & 0xff);
+		}
+		return integer;
+	}
+
+	private static void check(boolean valid) throws BiometricException {
+		if (!valid) {
+			throw new BiometricException(PlatformErrorMessages.PRT_INVALID_FACE_RECORD.getCode(),
+					PlatformErrorMessages.PRT_INVALID_FACE_RECORD.getMessage());
+		}
+	}
+
+	/**
+	 * A DER tag, length and value, located in place. The tag is kept as it is
+	 * encoded, class and constructed bit included.
+	 */
+	private static final class Tlv {
+
+		private final int tag;
+
+		private final int offset;
+
+		private final int length;
+
+		private Tlv(int tag, int offset, int length) {
+			this.tag = tag;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		/** Reads the element at the offset, which must end by the given end. */
+		private static Tlv read(ByteBuffer buffer, int offset, int end) throws BiometricException {
+			check(end - offset >= 2);
+			int position = offset;
+			int tag = buffer.get(position++) & 0xff;
+			if ((tag & 0x1f) == 0x1f) {
+				// high tag number, continued while the top bit is set
+				int tagBytes = 1;
+				int next;
+				do {
+					check(position < end && ++tagBytes <= 4);
+					next = buffer.get(position++) & 0xff;
+					tag = (tag << 8) | next;
+				} while ((next & 0x80) != 0);
+			}
+			check(position < end);
+			int length = buffer.get(position++) & 0xff;
+			if (length > 0x7f) {
+				// long form; 0x80 alone, the indefinite length, is not DER
+				int lengthBytes = length & 0x7f;
+				check(lengthBytes >= 1 && lengthBytes <= 4 && end - position >= lengthBytes);
+				long longLength = 0;
+				for (int i = 0; i < lengthBytes; i++) {
+					longLength = (longLength << 8) | (buffer.get(position++) & 0xff);
+				}
+				check(longLength <= Integer.MAX_VALUE);
+				length = (int) longLength;
+			}
+			check(length <= end - position);
+			return new Tlv(tag, position, length);
+		}
+
+		private int end() {
+			return offset + length;
+		}
+
+		private Tlv first(ByteBuffer buffer) throws BiometricException {
+			return length == 0 ? null : read(buffer, offset, end());
+		}
+
+		private Tlv next(ByteBuffer buffer, Tlv child) throws BiometricException {
+			return child.end() == end() ? null : read(buffer, child.end(), end());
+		}
+
+		/** Finds the first child element with the tag, or null. */
+		private Tlv child(ByteBuffer buffer, int childTag) throws BiometricException {
+			for (Tlv child = first(buffer); child != null; child = next(buffer, child)) {
+				if (child.tag == childTag) {
+					return child;
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
@@ -14,6 +14,7 @@ import org.json.simple.JSONObject;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
@@ -125,6 +126,29 @@ public class JsonUtil {
 		return objectMapper.writeValueAsString(obj);
 	}
 
+	/**
+	 * Parses the json string into a Jackson tree.
+	 *
+	 * @param jsonString the json string
+	 * @return the root node
+	 * @throws IOException if the string is not valid json
+	 */
+	public static JsonNode readTree(String jsonString) throws IOException {
+		return objectMapper.readTree(jsonString);
+	}
+
+	/**
+	 * Creates a streaming parser over the json string, able to read its values
+	 * as trees.
+	 *
+	 * @param jsonString the json string
+	 * @return the parser
+	 * @throws IOException if the parser cannot be created
+	 */
+	public static com.fasterxml.jackson.core.JsonParser createParser(String jsonString) throws IOException {
+		return objectMapper.getFactory().createParser(jsonString);
+	}
+
 	/**
 	 * Object mapper read value. This method maps the jsonString to particular type
 	 * 
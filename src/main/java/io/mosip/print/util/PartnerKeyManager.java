@@ -0,0 +1,284 @@
+package io.mosip.print.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.KeyStore.PasswordProtection;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.logger.PrintLogger;
+
+/**
+ * Holds the partner private keys. The PKCS12 keystore is read and decoded
+ * once, and every private key entry in it is indexed by the SHA-256
+ * thumbprint of its certificate, so the thumbprint prefixed to an encrypted
+ * credential picks the key it was encrypted for. During a key rotation the
+ * keystore holds both keys and credentials for either decrypt.
+ * <p>
+ * When the keystore is a file (a path, a {@code file:} location, or a
+ * classpath resource that resolves to a file), it is watched and reloaded
+ * when it changes. A reload replaces all keys at once; one that fails keeps
+ * the keys already loaded.
+ */
+@Component
+public class PartnerKeyManager {
+
+	private Logger printLogger = PrintLogger.getLogger(PartnerKeyManager.class);
+
+	private static final String FILE_PREFIX = "file:";
+
+	/** Lets the writer finish replacing the file before it is read. */
+	private static final long RELOAD_DELAY_MILLIS = 500;
+
+	@Value("${mosip.print.crypto.p12.filename}")
+	private String fileName;
+
+	@Value("${mosip.print.crypto.p12.password}")
+	private String password;
+
+	@Value("${mosip.print.crypto.p12.alias}")
+	private String alias;
+
+	@Value("${mosip.print.crypto.p12.watch:true}")
+	private boolean watch;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private volatile Keys keys;
+
+	private Path keystoreFile;
+
+	private WatchService watchService;
+
+	private Thread watcher;
+
+	private Counter reloaded;
+
+	private Counter reloadFailed;
+
+	@PostConstruct
+	public void init() {
+		reloaded = Counter.builder("print.crypto.keystore.reload").tag("outcome", "success")
+				.register(meterRegistry);
+		reloadFailed = Counter.builder("print.crypto.keystore.reload").tag("outcome", "failure")
+				.register(meterRegistry);
+		keystoreFile = resolveFile();
+		try {
+			keys = load();
+		} catch (IOException | GeneralSecurityException e) {
+			printLogger.error("Not able to load the key from keystore : {}", e);
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+		}
+		if (watch && keystoreFile != null) {
+			startWatcher();
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+		}
+	}
+
+	/**
+	 * Gets the key of the configured alias.
+	 *
+	 * @return the default key
+	 */
+	public PrivateKeyEntry getDefaultKey() {
+		return keys.defaultKey;
+	}
+
+	/**
+	 * Gets the key whose certificate has the thumbprint.
+	 *
+	 * @param thumbprint the SHA-256 thumbprint of the certificate
+	 * @return the matching key, or the default key when none matches
+	 */
+	public PrivateKeyEntry getKey(byte[] thumbprint) {
+		return getKey(thumbprint, 0, thumbprint.length);
+	}
+
+	/**
+	 * Gets the key whose certificate has the thumbprint found in the data.
+	 *
+	 * @param data   the data holding the thumbprint
+	 * @param offset where the thumbprint starts
+	 * @param length the length of the thumbprint
+	 * @return the matching key, or the default key when none matches
+	 */
+	public PrivateKeyEntry getKey(byte[] data, int offset, int length) {
+		Keys current = keys;
+		PrivateKeyEntry key = current.byThumbprint.get(ByteBuffer.wrap(data, offset, length));
+		if (key == null) {
+			if (printLogger.isDebugEnabled()) {
+				printLogger.debug("no key for certificate thumbprint {}, using alias {}",
+						Hex.encodeHexString(Arrays.copyOfRange(data, offset, offset + length)), alias);
+			}
+			return current.defaultKey;
+		}
+		return key;
+	}
+
+	/**
+	 * Reads the keystore again and replaces the keys if it could be loaded.
+	 *
+	 * @return true, if the keys were replaced
+	 */
+	public boolean reload() {
+		try {
+			keys = load();
+			reloaded.increment();
+			printLogger.info("partner keystore reloaded with {} keys", keys.byThumbprint.size());
+			return true;
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			reloadFailed.increment();
+			printLogger.error("partner keystore reload failed, keeping the loaded keys", e);
+			return false;
+		}
+	}
+
+	private Keys load() throws IOException, GeneralSecurityException {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream in = keystoreFile != null ? Files.newInputStream(keystoreFile)
+				: getClass().getClassLoader().getResourceAsStream(fileName)) {
+			if (in == null) {
+				throw new IOException("keystore " + fileName + " not found");
+			}
+			keyStore.load(in, password.toCharArray());
+		}
+		PasswordProtection protection = new PasswordProtection(password.toCharArray());
+		Map<ByteBuffer, PrivateKeyEntry> byThumbprint = new HashMap<>();
+		PrivateKeyEntry defaultKey = null;
+		Enumeration<String> aliases = keyStore.aliases();
+		while (aliases.hasMoreElements()) {
+			String entryAlias = aliases.nextElement();
+			if (!keyStore.entryInstanceOf(entryAlias, PrivateKeyEntry.class)) {
+				continue;
+			}
+			PrivateKeyEntry entry = (PrivateKeyEntry) keyStore.getEntry(entryAlias, protection);
+			byThumbprint.put(ByteBuffer.wrap(CryptoCoreUtil.getCertificateThumbprint(entry.getCertificate())), entry);
+			if (entryAlias.equalsIgnoreCase(alias)) {
+				defaultKey = entry;
+			}
+		}
+		if (defaultKey == null) {
+			throw new KeyStoreException("alias " + alias + " not found in keystore " + fileName);
+		}
+		return new Keys(defaultKey, Collections.unmodifiableMap(byThumbprint));
+	}
+
+	private Path resolveFile() {
+		if (fileName.startsWith(FILE_PREFIX)) {
+			return Paths.get(fileName.substring(FILE_PREFIX.length())).toAbsolutePath();
+		}
+		Path path = Paths.get(fileName);
+		if (path.isAbsolute() && Files.isRegularFile(path)) {
+			return path;
+		}
+		URL resource = getClass().getClassLoader().getResource(fileName);
+		if (resource != null && "file".equals(resource.getProtocol())) {
+			try {
+				return Paths.get(resource.toURI());
+			} catch (URISyntaxException e) {
+				printLogger.warn("keystore {} will not be watched", resource, e);
+			}
+		}
+		return null;
+	}
+
+	private void startWatcher() {
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			// watch the directory: a replaced file is a new inode with the same name
+			keystoreFile.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			printLogger.warn("partner keystore {} will not be watched", keystoreFile, e);
+			return;
+		}
+		watcher = new Thread(this::watchLoop, "print-keystore-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		printLogger.info("watching partner keystore {}", keystoreFile);
+	}
+
+	private void watchLoop() {
+		Path name = keystoreFile.getFileName();
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					changed |= name.equals(event.context());
+				}
+				key.reset();
+				if (changed) {
+					TimeUnit.MILLISECONDS.sleep(RELOAD_DELAY_MILLIS);
+					// the events of the write itself
+					WatchKey pending = watchService.poll();
+					if (pending != null) {
+						pending.pollEvents();
+						pending.reset();
+					}
+					reload();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			// shutting down
+		}
+	}
+
+	/** The keys of one load of the keystore, replaced as a whole. */
+	private static class Keys {
+
+		private final PrivateKeyEntry defaultKey;
+
+		private final Map<ByteBuffer, PrivateKeyEntry> byThumbprint;
+
+		private Keys(PrivateKeyEntry defaultKey, Map<ByteBuffer, PrivateKeyEntry> byThumbprint) {
+			this.defaultKey = defaultKey;
+			this.byThumbprint = byThumbprint;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.mosip.print.util;
+
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.print.dto.CryptoWithPinRequestDto;
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.exception.PlatformErrorMessages;
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.spi.PrintStage.StageType;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Decrypts PIN protected credential attributes on a bounded pool. Each
+ * attribute costs a PBKDF2 key derivation, so the attributes of a credential
+ * are decrypted in parallel rather than one after another on the stage
+ * thread. When the pool and its queue are full, the caller decrypts on its
+ * own thread.
+ */
+@Component
+public class ProtectedAttributeDecryptor {
+
+	private Logger printLogger = PrintLogger.getLogger(ProtectedAttributeDecryptor.class);
+
+	@Autowired
+	private CryptoUtil cryptoUtil;
+
+	@Autowired
+	private PrintThreadFactory printThreadFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.crypto.concurrency:0}")
+	private int concurrency;
+
+	@Value("${mosip.print.crypto.queue-capacity:1000}")
+	private int queueCapacity;
+
+	private ThreadPoolExecutor executor;
+
+	private Timer attributeTimer;
+
+	@PostConstruct
+	public void init() {
+		int threads = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+		executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), printThreadFactory.newThreadFactory("print-crypto-",
+						StageType.CPU),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		attributeTimer = Timer.builder("print.crypto.attribute")
+				.description("Time to decrypt one protected attribute").publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+		printLogger.info("Protected attribute decryption with {} threads", threads);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Gets the protected attributes of a credential, decrypted on demand.
+	 *
+	 * @param encrypted the encrypted value of each protected attribute
+	 * @param pin       the encryption PIN of the credential
+	 * @return the protected attributes
+	 */
+	public ProtectedAttributes open(Map<String, String> encrypted, String pin) {
+		if (encrypted.isEmpty()) {
+			return ProtectedAttributes.NONE;
+		}
+		return new ProtectedAttributes(encrypted, pin, this::decrypt, executor);
+	}
+
+	private String decrypt(String value, String pin) {
+		long start = System.nanoTime();
+		CryptoWithPinRequestDto request = new CryptoWithPinRequestDto();
+		request.setUserPin(pin);
+		request.setData(value);
+		try {
+			return cryptoUtil.decryptWithPin(request).getData();
+		} catch (GeneralSecurityException e) {
+			printLogger.error("Error while decrypting the data", e);
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+		} finally {
+			attributeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package io.mosip.print.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * The PIN protected attributes of one credential. An attribute is decrypted
+ * the first time a stage asks for it, on the crypto pool, and kept for the
+ * stages after it. Asking for several attributes at once decrypts them in
+ * parallel; attributes no stage reads are never decrypted.
+ */
+public class ProtectedAttributes {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/** A credential without protected attributes. */
+	public static final ProtectedAttributes NONE = new ProtectedAttributes(Collections.emptyMap(), null, null,
+			Runnable::run);
+
+	private final Map<String, String> encrypted;
+
+	private final String pin;
+
+	private final BiFunction<String, String, String> decryptor;
+
+	private final Executor executor;
+
+	private final Map<String, CompletableFuture<String>> decrypted = new ConcurrentHashMap<>();
+
+	private final LongAdder cpuNanos = new LongAdder();
+
+	/**
+	 * Instantiates the attributes of one credential.
+	 *
+	 * @param encrypted the encrypted value of each protected attribute
+	 * @param pin       the encryption PIN of the credential
+	 * @param decryptor decrypts a value with a PIN
+	 * @param executor  runs the decryptions
+	 */
+	public ProtectedAttributes(Map<String, String> encrypted, String pin, BiFunction<String, String, String> decryptor,
+			Executor executor) {
+		this.encrypted = encrypted;
+		this.pin = pin;
+		this.decryptor = decryptor;
+		this.executor = executor;
+	}
+
+	public Set<String> getNames() {
+		return encrypted.keySet();
+	}
+
+	public boolean isProtected(String name) {
+		return encrypted.containsKey(name);
+	}
+
+	/**
+	 * Starts decrypting the protected attributes among the names, without
+	 * waiting for them.
+	 *
+	 * @param names the attributes about to be read
+	 */
+	public void prefetch(Collection<String> names) {
+		for (String name : names) {
+			start(name);
+		}
+	}
+
+	/**
+	 * Gets the plain value of a protected attribute, decrypting it if no stage
+	 * asked for it yet.
+	 *
+	 * @param name the attribute name
+	 * @return the plain value, or null if the attribute is not protected
+	 */
+	public String get(String name) {
+		CompletableFuture<String> value = start(name);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return value.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the CPU time spent decrypting the attributes so far.
+	 *
+	 * @return the CPU time in nanoseconds
+	 */
+	public long getCpuNanos() {
+		return cpuNanos.sum();
+	}
+
+	private CompletableFuture<String> start(String name) {
+		String value = encrypted.get(name);
+		if (value == null) {
+			return null;
+		}
+		CompletableFuture<String> result = decrypted.get(name);
+		if (result != null) {
+			return result;
+		}
+		// claim the attribute before decrypting, the executor may run it on this thread
+		CompletableFuture<String> claimed = new CompletableFuture<>();
+		result = decrypted.putIfAbsent(name, claimed);
+		if (result != null) {
+			return result;
+		}
+		try {
+			executor.execute(() -> decrypt(value, claimed));
+		} catch (RejectedExecutionException e) {
+			claimed.completeExceptionally(e);
+		}
+		return claimed;
+	}
+
+	private void decrypt(String value, CompletableFuture<String> result) {
+		long start = cpuTime();
+		try {
+			result.complete(decryptor.apply(value, pin));
+		} catch (Throwable e) {
+			result.completeExceptionally(e);
+		} finally {
+			cpuNanos.add(cpuTime() - start);
+		}
+	}
+
+	private static long cpuTime() {
+		return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+	}
+
+}
@@ -15,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import com.google.gson.Gson;
@@ -70,6 +71,27 @@ public class RestApiClient {
 		return result;
 	}
 
+	/**
+	 * Gets the api, handing the response body to the extractor as it is
+	 * received instead of reading it into memory first.
+	 *
+	 * @param uri               the uri
+	 * @param responseExtractor reads the response
+	 * @return what the extractor returns
+	 * @throws Exception if the request or the extractor fails
+	 */
+	public <T> T getApi(URI uri, ResponseExtractor<T> responseExtractor) throws Exception {
+		logger.info("RestApiClient::getApi()::entry uri : {}",uri.toString());
+		HttpHeaders headers = setRequestHeader(null, null).getHeaders();
+		try {
+			return restTemplate.execute(uri, HttpMethod.GET, request -> request.getHeaders().putAll(headers),
+					responseExtractor);
+		} catch (Exception e) {
+			logger.error("RestApiClient::getApi()::error {} {}",e.getMessage(),e);
+			throw e;
+		}
+	}
+
 	public <T> T getApi(String url, Class<?> responseType) {
 		T result = null;
 		try {
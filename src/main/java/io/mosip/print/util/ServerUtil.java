@@ -14,7 +14,7 @@ import org.slf4j.LoggerFactory;
 public class ServerUtil {
 
 	/** The server instance. */
-	private static ServerUtil serverInstance = null;
+	private static final ServerUtil serverInstance = new ServerUtil();
 	
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = LoggerFactory.getLogger(ServerUtil.class);
@@ -35,15 +35,8 @@ public class ServerUtil {
 	 *
 	 * @return The ServerUtil object
 	 */
-	public static synchronized ServerUtil getServerUtilInstance() {
-
-		if (serverInstance == null) {
-			serverInstance = new ServerUtil();
-			return serverInstance;
-		} else {
-			return serverInstance;
-		}
-
+	public static ServerUtil getServerUtilInstance() {
+		return serverInstance;
 	}
 
 	/**
@@ -0,0 +1,192 @@
+package io.mosip.print.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.exception.PlatformErrorMessages;
+
+/**
+ * Remembers the session keys unwrapped with the partner key, so that a
+ * redelivered or reprinted credential, which carries the same wrapped key,
+ * costs no RSA private key operation. Entries are keyed by the SHA-256 of the
+ * wrapped key and bound to the private key that unwrapped it. They expire
+ * after a short TTL, and their key bytes are zeroed when they expire or are
+ * evicted.
+ */
+@Component
+public class SessionKeyCache {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.print.crypto.session-key-cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${mosip.print.crypto.session-key-cache.max-entries:1000}")
+	private int maxEntries;
+
+	@Value("${mosip.print.crypto.session-key-cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** In insertion order, which is also expiry order. */
+	private final LinkedHashMap<ByteBuffer, Entry> index = new LinkedHashMap<ByteBuffer, Entry>() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+			if (size() > maxEntries) {
+				eldest.getValue().clear();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private Counter hits;
+
+	private Counter misses;
+
+	@PostConstruct
+	public void init() {
+		hits = Counter.builder("print.crypto.session-key.hit")
+				.description("RSA unwraps saved by reusing a session key").register(meterRegistry);
+		misses = Counter.builder("print.crypto.session-key.miss")
+				.description("Session keys unwrapped with the partner key").register(meterRegistry);
+		meterRegistry.gauge("print.crypto.session-key.size", index, Map::size);
+	}
+
+	@PreDestroy
+	public void clear() {
+		lock.lock();
+		try {
+			for (Entry entry : index.values()) {
+				entry.clear();
+			}
+			index.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the session key unwrapped earlier from the same wrapped key.
+	 *
+	 * @param privateKey the key that unwraps it
+	 * @param data       the data holding the wrapped key
+	 * @param offset     where the wrapped key starts
+	 * @param length     the length of the wrapped key
+	 * @return a copy of the session key, or null if it has to be unwrapped
+	 */
+	public byte[] get(PrivateKey privateKey, byte[] data, int offset, int length) {
+		if (!enabled) {
+			return null;
+		}
+		ByteBuffer id = id(data, offset, length);
+		lock.lock();
+		try {
+			long now = System.nanoTime();
+			purgeExpired(now);
+			Entry entry = index.get(id);
+			if (entry == null || entry.privateKey != privateKey) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.sessionKey.clone();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Remembers a session key the wrapped key unwrapped to.
+	 *
+	 * @param privateKey the key that unwrapped it
+	 * @param data       the data holding the wrapped key
+	 * @param offset     where the wrapped key starts
+	 * @param length     the length of the wrapped key
+	 * @param sessionKey the session key, copied
+	 */
+	public void put(PrivateKey privateKey, byte[] data, int offset, int length, byte[] sessionKey) {
+		if (!enabled) {
+			return;
+		}
+		Entry entry = new Entry(privateKey, sessionKey.clone(),
+				System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+		ByteBuffer id = id(data, offset, length);
+		lock.lock();
+		try {
+			Entry replaced = index.remove(id);
+			if (replaced != null) {
+				replaced.clear();
+			}
+			index.put(id, entry);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private static ByteBuffer id(byte[] data, int offset, int length) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(data, offset, length);
+			return ByteBuffer.wrap(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new CryptoManagerException(PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getCode(),
+					PlatformErrorMessages.PRT_INVALID_KEY_EXCEPTION.getMessage(), e);
+		}
+	}
+
+	private void purgeExpired(long now) {
+		Iterator<Entry> it = index.values().iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (entry.expiresAt - now > 0) {
+				return;
+			}
+			entry.clear();
+			it.remove();
+		}
+	}
+
+	private static class Entry {
+
+		private final PrivateKey privateKey;
+
+		private final byte[] sessionKey;
+
+		private final long expiresAt;
+
+		private Entry(PrivateKey privateKey, byte[] sessionKey, long expiresAt) {
+			this.privateKey = privateKey;
+			this.sessionKey = sessionKey;
+			this.expiresAt = expiresAt;
+		}
+
+		private void clear() {
+			Arrays.fill(sessionKey, (byte) 0);
+		}
+
+	}
+
+}
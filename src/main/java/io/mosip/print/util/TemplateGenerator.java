@@ -8,6 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.velocity.app.VelocityEngine;
@@ -21,6 +24,8 @@ import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.kernel.core.templatemanager.exception.TemplateMethodInvocationException;
 import io.mosip.kernel.core.templatemanager.exception.TemplateParsingException;
 import io.mosip.kernel.core.templatemanager.exception.TemplateResourceNotFoundException;
@@ -66,6 +71,21 @@ public class TemplateGenerator {
 	@Autowired
 	private ObjectMapper mapper;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private Timer fetchTimer;
+
+	private Timer mergeTimer;
+
+	@PostConstruct
+	public void init() {
+		fetchTimer = Timer.builder("print.step").tag("step", "templateFetch")
+				.description("Time spent in a step of a print stage").register(meterRegistry);
+		mergeTimer = Timer.builder("print.step").tag("step", "templateMerge")
+				.description("Time spent in a step of a print stage").register(meterRegistry);
+	}
+
 	/**
 	 * Gets the template.
 	 *
@@ -83,32 +103,60 @@ public class TemplateGenerator {
 	 */
 	public InputStream getTemplate(String templateTypeCode, Map<String, Object> attributes, String langCode)
 			throws IOException, ApisResourceAccessException {
+		String templateText = fetchTemplate(templateTypeCode, langCode);
+		return templateText == null ? null : mergeTemplate(templateText, attributes);
+	}
 
-		ResponseWrapper<?> responseWrapper;
-		TemplateResponseDto template;
+	/**
+	 * Fetches the text of a template from the master data.
+	 *
+	 * @param templateTypeCode
+	 *            the template type code
+	 * @param langCode
+	 *            the lang code
+	 * @return the template text, or null if there is no template
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ApisResourceAccessException
+	 *             the apis resource access exception
+	 */
+	public String fetchTemplate(String templateTypeCode, String langCode)
+			throws IOException, ApisResourceAccessException {
+		printLogger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), "",
+				"TemplateGenerator::fetchTemplate()::entry");
+		List<String> pathSegments = new ArrayList<>();
+		pathSegments.add(langCode);
+		pathSegments.add(templateTypeCode);
+
+		long start = System.nanoTime();
+		ResponseWrapper<?> responseWrapper = (ResponseWrapper<?>) restClientService.getApi(ApiName.TEMPLATES,
+				pathSegments, "", "", ResponseWrapper.class);
+		TemplateResponseDto template = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
+				TemplateResponseDto.class);
+		fetchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		printLogger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), "",
-				"TemplateGenerator::getTemplate()::entry");
+				"TemplateGenerator::fetchTemplate()::exit");
+		return template == null ? null : template.getTemplates().iterator().next().getFileText();
+	}
 
+	/**
+	 * Merges the attributes into a template.
+	 *
+	 * @param templateText
+	 *            the template text
+	 * @param attributes
+	 *            the attributes
+	 * @return the merged template
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public InputStream mergeTemplate(String templateText, Map<String, Object> attributes) throws IOException {
 		try {
-			List<String> pathSegments = new ArrayList<>();
-			pathSegments.add(langCode);
-			pathSegments.add(templateTypeCode);
-
-			responseWrapper = (ResponseWrapper<?>) restClientService.getApi(ApiName.TEMPLATES, pathSegments, "", "",
-					ResponseWrapper.class);
-			template = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
-					TemplateResponseDto.class);
-
-			InputStream fileTextStream = null;
-			if (template != null) {
-				InputStream stream = new ByteArrayInputStream(
-						template.getTemplates().iterator().next().getFileText().getBytes());
-				fileTextStream = getTemplateManager().merge(stream, attributes);
-			}
-			printLogger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), "",
-					"TemplateGenerator::getTemplate()::exit");
+			InputStream stream = new ByteArrayInputStream(templateText.getBytes());
+			long start = System.nanoTime();
+			InputStream fileTextStream = getTemplateManager().merge(stream, attributes);
+			mergeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 			return fileTextStream;
-
 		} catch (TemplateResourceNotFoundException | TemplateParsingException | TemplateMethodInvocationException e) {
 			printLogger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
 					null, PlatformErrorMessages.PRT_TEM_PROCESSING_FAILURE.name() + e.getMessage()
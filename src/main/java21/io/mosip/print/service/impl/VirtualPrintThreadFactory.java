@@ -0,0 +1,77 @@
+package io.mosip.print.service.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import io.mosip.print.logger.PrintLogger;
+import io.mosip.print.spi.PrintStage.StageType;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Runs the IO pools, and the queue workers waiting on them, on virtual
+ * threads, so a job blocked on datashare, PDF signing, websub or audit only
+ * holds a carrier thread while it is actually running. CPU pools stay on
+ * platform threads sized to the cores.
+ * <p>
+ * Only part of the {@code jdk21} build. That build stays at release 11, which
+ * Spring 5.0 can scan, so the virtual thread builder is looked up by
+ * reflection; it must run on JDK 21.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "mosip.print.virtual-threads.enabled", havingValue = "true")
+public class VirtualPrintThreadFactory implements PrintThreadFactory {
+
+	private Logger printLogger = PrintLogger.getLogger(VirtualPrintThreadFactory.class);
+
+	@Autowired
+	private PlatformPrintThreadFactory platformPrintThreadFactory;
+
+	/** {@code Thread.ofVirtual()} */
+	private MethodHandle ofVirtual;
+
+	/** {@code Thread.Builder.OfVirtual.name(String, long)} */
+	private MethodHandle name;
+
+	/** {@code Thread.Builder.factory()} */
+	private MethodHandle factory;
+
+	@PostConstruct
+	public void init() {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			Class<?> virtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilder));
+			name = lookup.findVirtual(virtualBuilder, "name",
+					MethodType.methodType(virtualBuilder, String.class, long.class));
+			factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("mosip.print.virtual-threads.enabled needs a JDK 21 runtime", e);
+		}
+		printLogger.info("Print IO pools run on virtual threads");
+	}
+
+	@Override
+	public ThreadFactory newThreadFactory(String namePrefix, StageType type) {
+		if (type == StageType.CPU) {
+			return platformPrintThreadFactory.newThreadFactory(namePrefix, type);
+		}
+		try {
+			return (ThreadFactory) factory.invoke(name.invoke(ofVirtual.invoke(), namePrefix, 1L));
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not create the virtual threads of " + namePrefix, e);
+		}
+	}
+
+}
@@ -1,8 +1,13 @@
 package io.mosip.print.test.controller;
 
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import io.mosip.print.model.Event;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,6 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -23,6 +29,8 @@ import com.google.gson.GsonBuilder;
 
 import io.mosip.print.controller.Print;
 import io.mosip.print.model.EventModel;
+import io.mosip.print.service.EventJournal;
+import io.mosip.print.service.PrintQueueService;
 import io.mosip.print.service.PrintService;
 import io.mosip.print.test.TestBootApplication;
 
@@ -37,6 +45,12 @@ public class PrintControllerTest {
 	@Mock
 	PrintService printService;
 
+	@Mock
+	PrintQueueService printQueueService;
+
+	@Mock
+	EventJournal eventJournal;
+
 	private MockMvc mockMvc;
 
 	Gson gson = new GsonBuilder().serializeNulls().create();
@@ -68,4 +82,76 @@ public class PrintControllerTest {
 				.andExpect(status().isOk());
 	}
 
+	@Test
+	public void testHandleSubscribeEventJournaled() throws Exception {
+		Mockito.when(eventJournal.append(Mockito.any())).thenReturn(7L);
+		Mockito.when(printService.generateCard(Mockito.any())).thenReturn(true);
+		mockMvc.perform(MockMvcRequestBuilders.post("/print/callback/notifyPrint")
+				.contentType(MediaType.APPLICATION_JSON_VALUE).content(reqCredentialEventJson.getBytes()))
+				.andExpect(status().isOk());
+		Mockito.verify(eventJournal).complete(7L);
+	}
+
+	@Test
+	public void testHandleSubscribeEventQueued() throws Exception {
+		Mockito.when(printQueueService.isEnabled()).thenReturn(true);
+		Mockito.when(printQueueService.isValid(Mockito.any())).thenReturn(true);
+		Mockito.when(printQueueService.submit(Mockito.any())).thenReturn(true);
+		mockMvc.perform(MockMvcRequestBuilders.post("/print/callback/notifyPrint")
+				.contentType(MediaType.APPLICATION_JSON_VALUE).content(reqCredentialEventJson.getBytes()))
+				.andExpect(status().isAccepted());
+		Mockito.verify(printService, Mockito.never()).generateCard(Mockito.any());
+	}
+
+	@Test
+	public void testHandleSubscribeEventQueueFull() throws Exception {
+		Mockito.when(printQueueService.isEnabled()).thenReturn(true);
+		Mockito.when(printQueueService.isValid(Mockito.any())).thenReturn(true);
+		Mockito.when(printQueueService.submit(Mockito.any())).thenReturn(false);
+		Mockito.when(printQueueService.getRetryAfterSeconds()).thenReturn(30);
+		mockMvc.perform(MockMvcRequestBuilders.post("/print/callback/notifyPrint")
+				.contentType(MediaType.APPLICATION_JSON_VALUE).content(reqCredentialEventJson.getBytes()))
+				.andExpect(status().isServiceUnavailable()).andExpect(header().string("Retry-After", "30"));
+	}
+
+	@Test
+	public void testHandleSubscribeEventBatch() throws Exception {
+		EventModel invalidEvent = new EventModel();
+		Event event = new Event();
+		event.setId("test456");
+		invalidEvent.setEvent(event);
+		ReflectionTestUtils.setField(printController, "maxBatchSize", 1000);
+		Mockito.when(printQueueService.isValid(Mockito.any())).thenAnswer(
+				invocation -> "test123".equals(((EventModel) invocation.getArgument(0)).getEvent().getId()));
+		Mockito.when(eventJournal.appendAll(Mockito.anyList())).thenReturn(new long[] { 3L });
+		Mockito.when(printService.generateCardAsync(Mockito.any())).thenReturn(CompletableFuture.completedFuture(true));
+		mockMvc.perform(MockMvcRequestBuilders.post("/print/callback/notifyPrintBatch")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(gson.toJson(Arrays.asList(credentialEvent, invalidEvent)).getBytes()))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[0].status").value("PRINTED"))
+				.andExpect(jsonPath("$[1].status").value("INVALID"));
+		Mockito.verify(eventJournal).complete(3L);
+	}
+
+	@Test
+	public void testHandleSubscribeEventBatchSubmitFailure() throws Exception {
+		EventModel secondEvent = new EventModel();
+		Event event = new Event();
+		event.setId("test456");
+		secondEvent.setEvent(event);
+		ReflectionTestUtils.setField(printController, "maxBatchSize", 1000);
+		Mockito.when(printQueueService.isValid(Mockito.any())).thenReturn(true);
+		Mockito.when(eventJournal.appendAll(Mockito.anyList())).thenReturn(new long[] { 3L, 4L });
+		Mockito.when(printService.generateCardAsync(Mockito.any()))
+				.thenThrow(new IllegalStateException("pipeline is shut down"))
+				.thenReturn(CompletableFuture.completedFuture(true));
+		mockMvc.perform(MockMvcRequestBuilders.post("/print/callback/notifyPrintBatch")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(gson.toJson(Arrays.asList(credentialEvent, secondEvent)).getBytes()))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[0].status").value("FAILED"))
+				.andExpect(jsonPath("$[1].status").value("PRINTED"));
+		Mockito.verify(eventJournal).complete(3L);
+		Mockito.verify(eventJournal).complete(4L);
+	}
+
 }
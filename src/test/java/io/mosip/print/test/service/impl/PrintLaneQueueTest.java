@@ -0,0 +1,144 @@
+package io.mosip.print.test.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.service.impl.PrintLaneQueue;
+import io.mosip.print.service.impl.PrintLaneQueue.ExpiredPolicy;
+import io.mosip.print.service.impl.PrintLaneQueue.Lane;
+import io.mosip.print.test.TestBootApplication;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class PrintLaneQueueTest {
+
+	private final Lane qrcode = new Lane("qrcode", 4, 60000, new HashSet<>(Arrays.asList("qrcode")),
+			Collections.emptySet());
+
+	private final Lane standard = new Lane("default", 1, 60000, Collections.emptySet(), Collections.emptySet());
+
+	private final List<String> expired = new ArrayList<>();
+
+	private final List<String> dropped = new ArrayList<>();
+
+	@Test
+	public void testEarliestDeadlineFirstWithinLane() {
+		PrintLaneQueue queue = queue(ExpiredPolicy.RUN);
+		long now = System.currentTimeMillis();
+		queue.offer(new TestJob("late", standard, now + 3000));
+		queue.offer(new TestJob("early", standard, now + 1000));
+		queue.offer(new TestJob("middle", standard, now + 2000));
+		assertEquals(Arrays.asList("early", "middle", "late"), drain(queue));
+	}
+
+	@Test
+	public void testLanesShareByWeight() {
+		PrintLaneQueue queue = queue(ExpiredPolicy.RUN);
+		long deadline = System.currentTimeMillis() + 60000;
+		for (int i = 0; i < 4; i++) {
+			queue.offer(new TestJob("d" + i, standard, deadline));
+			queue.offer(new TestJob("q" + i, qrcode, deadline));
+		}
+		assertEquals(Arrays.asList("q0", "d0", "q1", "q2", "q3", "d1", "d2", "d3"), drain(queue));
+	}
+
+	@Test
+	public void testExpiredJobsAreDroppedOrParked() {
+		long now = System.currentTimeMillis();
+		PrintLaneQueue dropping = queue(ExpiredPolicy.DROP);
+		dropping.offer(new TestJob("stale", standard, now - 1000));
+		dropping.offer(new TestJob("fresh", standard, now + 60000));
+		assertEquals(Arrays.asList("fresh"), drain(dropping));
+		assertEquals(Arrays.asList("stale"), expired);
+
+		expired.clear();
+		PrintLaneQueue parking = queue(ExpiredPolicy.PARK);
+		parking.offer(new TestJob("stale", qrcode, now - 1000));
+		parking.offer(new TestJob("fresh", standard, now + 60000));
+		assertEquals(Arrays.asList("fresh", "stale"), drain(parking));
+		assertEquals(Arrays.asList("stale"), expired);
+	}
+
+	@Test
+	public void testCapacityIsEnforced() {
+		PrintLaneQueue queue = queue(ExpiredPolicy.RUN);
+		long deadline = System.currentTimeMillis() + 60000;
+		for (int i = 0; i < 10; i++) {
+			queue.offer(new TestJob("j" + i, standard, deadline));
+		}
+		assertFalse(queue.offer(new TestJob("overflow", qrcode, deadline)));
+		assertEquals(0, queue.remainingCapacity());
+	}
+
+	@Test
+	public void testParkedJobsDoNotTakeUpCapacity() {
+		PrintLaneQueue queue = queue(ExpiredPolicy.PARK);
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < 10; i++) {
+			queue.offer(new TestJob("stale" + i, standard, now - 10000 + i));
+		}
+		// every job has expired: the poll parks them all, the stalest past the
+		// parked bound are dropped, and the first parked job runs
+		assertEquals("stale5", ((TestJob) queue.poll()).name);
+		assertEquals(Arrays.asList("stale0", "stale1", "stale2", "stale3", "stale4"), dropped);
+		assertEquals(4, queue.parkedSize());
+		assertEquals(10, queue.remainingCapacity());
+		for (int i = 0; i < 10; i++) {
+			assertTrue(queue.offer(new TestJob("fresh" + i, qrcode, now + 60000 + i)));
+		}
+		assertFalse(queue.offer(new TestJob("overflow", qrcode, now + 60000)));
+		List<String> names = drain(queue);
+		assertEquals(14, names.size());
+		assertEquals("fresh0", names.get(0));
+		assertEquals(Arrays.asList("stale6", "stale7", "stale8", "stale9"), names.subList(10, 14));
+	}
+
+	private PrintLaneQueue queue(ExpiredPolicy policy) {
+		return new PrintLaneQueue(Arrays.asList(qrcode, standard), 10, 5, policy, (job, action) -> {
+			if (action == ExpiredPolicy.DROP && policy == ExpiredPolicy.PARK) {
+				dropped.add(((TestJob) job).name);
+			} else {
+				expired.add(((TestJob) job).name);
+			}
+		});
+	}
+
+	private List<String> drain(PrintLaneQueue queue) {
+		List<String> names = new ArrayList<>();
+		TestJob job;
+		while ((job = (TestJob) queue.poll()) != null) {
+			names.add(job.name);
+		}
+		assertNull(queue.peek());
+		return names;
+	}
+
+	private static class TestJob extends PrintLaneQueue.Job {
+
+		private final String name;
+
+		private TestJob(String name, Lane lane, long deadline) {
+			super(lane, deadline);
+			this.name = name;
+		}
+
+		@Override
+		public void run() {
+		}
+
+	}
+
+}
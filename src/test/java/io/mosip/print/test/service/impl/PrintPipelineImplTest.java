@@ -0,0 +1,136 @@
+package io.mosip.print.test.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.service.impl.PlatformPrintThreadFactory;
+import io.mosip.print.service.impl.PrintPipelineImpl;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.test.TestBootApplication;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class PrintPipelineImplTest {
+
+	private PrintPipelineImpl pipeline;
+
+	private List<String> executed;
+
+	private EventModel eventModel;
+
+	@Before
+	public void setUp() {
+		executed = Collections.synchronizedList(new ArrayList<>());
+		eventModel = new EventModel();
+		Event event = new Event();
+		event.setId("test123");
+		eventModel.setEvent(event);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		pipeline.shutdown();
+	}
+
+	@Test
+	public void testStagesRunInOrder() throws Exception {
+		start(new TestStage("render", 200, PrintStage.StageType.CPU, false, false),
+				new TestStage("fetch", 100, PrintStage.StageType.IO, false, false),
+				new TestStage("audit", 300, PrintStage.StageType.IO, false, true));
+		assertTrue(pipeline.submit(eventModel).get(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("fetch", "render", "audit"), executed);
+	}
+
+	@Test
+	public void testFailureSkipsToFailureStages() throws Exception {
+		start(new TestStage("fetch", 100, PrintStage.StageType.IO, true, false),
+				new TestStage("render", 200, PrintStage.StageType.CPU, false, false),
+				new TestStage("audit", 300, PrintStage.StageType.IO, false, true));
+		assertFalse(pipeline.submit(eventModel).get(5, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("fetch", "audit"), executed);
+	}
+
+	private void start(PrintStage... stages) {
+		pipeline = new PrintPipelineImpl();
+		ReflectionTestUtils.setField(pipeline, "stageBeans", Arrays.asList(stages));
+		ReflectionTestUtils.setField(pipeline, "env",
+				new MockEnvironment().withProperty("mosip.print.pipeline.stage.render.concurrency", "2"));
+		ReflectionTestUtils.setField(pipeline, "printThreadFactory", new PlatformPrintThreadFactory());
+		ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(pipeline, "ioConcurrency", 4);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", 10);
+		ReflectionTestUtils.setField(pipeline, "shutdownTimeoutSeconds", 5);
+		pipeline.init();
+	}
+
+	private class TestStage implements PrintStage {
+
+		private final String name;
+
+		private final int order;
+
+		private final StageType type;
+
+		private final boolean fails;
+
+		private final boolean runsOnFailure;
+
+		private TestStage(String name, int order, StageType type, boolean fails, boolean runsOnFailure) {
+			this.name = name;
+			this.order = order;
+			this.type = type;
+			this.fails = fails;
+			this.runsOnFailure = runsOnFailure;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public StageType getType() {
+			return type;
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+
+		@Override
+		public boolean runsOnFailure() {
+			return runsOnFailure;
+		}
+
+		@Override
+		public void process(PrintJobContext context) throws Exception {
+			executed.add(name);
+			if (fails) {
+				throw new IllegalStateException(name + " failed");
+			}
+		}
+
+	}
+
+}
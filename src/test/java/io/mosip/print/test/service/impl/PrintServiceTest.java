@@ -1,6 +1,7 @@
 package io.mosip.print.test.service.impl;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
@@ -111,7 +112,7 @@ public class PrintServiceTest {
 		Mockito.when(utility.getConfigServerFileStorageURL()).thenReturn("configUrl");
 		Mockito.when(utility.getGetRegProcessorIdentityJson()).thenReturn(mappingFileJson);
 		Mockito.when(utility.getRegistrationProcessorPrintTextFile()).thenReturn(printTextFileJson);
-		Mockito.when(cryptoCoreUtil.decrypt(any())).thenReturn(decryptedJson);
+		Mockito.when(cryptoCoreUtil.decrypt(anyString())).thenReturn(decryptedJson);
 
 	}
 
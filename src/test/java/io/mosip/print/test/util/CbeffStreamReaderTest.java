@@ -0,0 +1,52 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.CbeffStreamReader;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class CbeffStreamReaderTest {
+
+	private byte[] faceRecord;
+
+	private byte[] cbeffXml;
+
+	@Before
+	public void setUp() throws Exception {
+		faceRecord = CredentialFixtures.faceRecord(CredentialFixtures.portraitJpeg(120, 160));
+		cbeffXml = CredentialFixtures.cbeffXml(faceRecord);
+	}
+
+	@Test
+	public void testFaceIsTheOnlyBdbDecoded() throws Exception {
+		assertArrayEquals(faceRecord, CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(cbeffXml), "face",
+				Collections.emptyList()));
+	}
+
+	@Test
+	public void testRecordIsMatchedOnItsBdbInfoTypeAndSubtypes() throws Exception {
+		byte[] thumb = CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(cbeffXml), "Finger",
+				Arrays.asList("Right", "Thumb"));
+		assertEquals(24_000, thumb.length);
+		// the format and quality algorithm types are not the record type
+		assertNull(CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(cbeffXml), "SHA-256",
+				Collections.emptyList()));
+		assertNull(CbeffStreamReader.getFirstBDB(new ByteArrayInputStream(cbeffXml), "Finger",
+				Collections.singletonList("Right")));
+	}
+
+}
@@ -0,0 +1,50 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.xml.sax.SAXException;
+
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.CbeffXSDValidator;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class CbeffXSDValidatorTest {
+
+	private static final String XSD = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+			+ "<xs:element name=\"BIR\"><xs:complexType><xs:sequence>"
+			+ "<xs:element name=\"BDB\" type=\"xs:base64Binary\" maxOccurs=\"unbounded\"/>"
+			+ "</xs:sequence></xs:complexType></xs:element></xs:schema>";
+
+	@Test
+	public void testSchemaIsCompiledOncePerXsd() throws Exception {
+		byte[] xsd = XSD.getBytes(StandardCharsets.UTF_8);
+		assertSame(CbeffXSDValidator.compile(xsd), CbeffXSDValidator.compile(xsd.clone()));
+		assertNotSame(CbeffXSDValidator.compile(xsd),
+				CbeffXSDValidator.compile(XSD.replace("unbounded", "2").getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testValidatorIsReusedAfterInvalidXml() throws Exception {
+		byte[] xsd = XSD.getBytes(StandardCharsets.UTF_8);
+		byte[] valid = "<BIR><BDB>AQID</BDB><BDB>BAU=</BDB></BIR>".getBytes(StandardCharsets.UTF_8);
+		assertTrue(CbeffXSDValidator.validateXML(xsd, valid));
+		try {
+			CbeffXSDValidator.validateXML(xsd, "<BIR><SB/></BIR>".getBytes(StandardCharsets.UTF_8));
+			throw new AssertionError("invalid xml was accepted");
+		} catch (SAXException expected) {
+			// the validator is reset for the next document
+		}
+		assertTrue(CbeffXSDValidator.validateXML(xsd, valid));
+	}
+
+}
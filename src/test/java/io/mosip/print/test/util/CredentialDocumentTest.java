@@ -0,0 +1,85 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.exception.IdentityNotFoundException;
+import io.mosip.print.model.CredentialDocument;
+import io.mosip.print.model.EncodedCbeff;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.ProtectedAttributes;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class CredentialDocumentTest {
+
+	private static final String CREDENTIAL = "{\"id\":\"https://credential.example/1\","
+			+ "\"protectedAttributes\":[\"fullName\",\"dateOfBirth\"],"
+			+ "\"credentialSubject\":{\"UIN\":\"4578312946\",\"fullName\":\"enc-fullName\","
+			+ "\"dateOfBirth\":\"enc-dateOfBirth\",\"gender\":[{\"language\":\"eng\",\"value\":\"Female\"}],"
+			+ "\"biometrics\":\"PGJpcj4=\"}}";
+
+	@Test
+	public void testProtectedAttributesAreDecryptedWhenRead() throws Exception {
+		List<String> decrypted = new CopyOnWriteArrayList<>();
+		CredentialDocument document = CredentialDocument.parse(CREDENTIAL);
+		assertEquals(Arrays.asList("fullName", "dateOfBirth"),
+				Arrays.asList(document.getEncryptedAttributes().keySet().toArray()));
+		document.setProtectedAttributes(new ProtectedAttributes(document.getEncryptedAttributes(), "482913",
+				(value, pin) -> {
+					decrypted.add(value);
+					return "plain-" + value;
+				}, Runnable::run));
+
+		assertEquals(Arrays.asList("UIN", "fullName", "dateOfBirth", "gender"), document.getNames());
+		assertEquals("4578312946", document.getText("UIN"));
+		assertEquals("plain-enc-fullName", document.getText("fullName"));
+		assertEquals("plain-enc-fullName", document.get("fullName").textValue());
+		assertTrue(document.get("gender").isArray());
+		assertEquals("Female", document.get("gender").get(0).get("value").textValue());
+		assertNull(document.get("email"));
+		assertEquals(Collections.singletonList("enc-fullName"), decrypted);
+	}
+
+	@Test
+	public void testBiometricsAreKeptEncodedUntilRead() throws Exception {
+		CredentialDocument document = CredentialDocument.parse(CREDENTIAL);
+		EncodedCbeff biometrics = document.getBiometrics();
+		assertEquals(8, biometrics.getEncodedLength());
+		byte[] cbeff = biometrics.decode();
+		assertArrayEquals("<bir>".getBytes(StandardCharsets.US_ASCII), cbeff);
+		assertSame(cbeff, biometrics.decode());
+		assertEquals("PGJpcj4=", document.getText("biometrics"));
+		assertNull(CredentialDocument.parse("{\"credentialSubject\":{\"UIN\":\"4578312946\"}}").getBiometrics());
+	}
+
+	@Test
+	public void testOtherCredentialPartsAreSkipped() throws Exception {
+		CredentialDocument document = CredentialDocument.parse("{\"proof\":{\"jws\":[1,{\"a\":null}]},"
+				+ "\"credentialSubject\":{\"email\":null,\"phone\":{\"value\":\"98\"}},\"issuer\":\"x\"}");
+		assertEquals(Arrays.asList("email", "phone"), document.getNames());
+		assertTrue(document.get("email").isNull());
+		assertNull(document.getText("email"));
+		assertEquals("98", document.get("phone").get("value").textValue());
+	}
+
+	@Test(expected = IdentityNotFoundException.class)
+	public void testCredentialWithoutSubjectIsRejected() throws Exception {
+		CredentialDocument.parse("{\"id\":\"https://credential.example/1\"}");
+	}
+
+}
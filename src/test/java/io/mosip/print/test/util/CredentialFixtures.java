@@ -0,0 +1,250 @@
+package io.mosip.print.test.util;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.KeyStore.PrivateKeyEntry;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.Base64;
+import java.util.Random;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.PSource;
+import javax.crypto.spec.SecretKeySpec;
+import javax.imageio.ImageIO;
+
+import org.apache.commons.io.IOUtils;
+
+import io.mosip.print.util.CryptoCoreUtil;
+
+/**
+ * Builds credentials the way the issuing side does, so tests, benchmarks and
+ * the load harness can feed the print service without a MOSIP environment:
+ * encryption for the partner key in {@code partner.p12}, PIN protection of
+ * attributes, and CBEFF documents with an ISO 19794-5 face record. Images and
+ * biometric data come from a fixed seed.
+ */
+public final class CredentialFixtures {
+
+	/** The partner keystore shipped in src/main/resources. */
+	public static final String KEYSTORE = "partner.p12";
+
+	public static final String KEYSTORE_PASSWORD = "password@123";
+
+	public static final String KEYSTORE_ALIAS = "partner";
+
+	/** A UIN card template, on the test classpath. */
+	public static final String CARD_TEMPLATE = "/uin-card-template.html";
+
+	private static final String KEY_SPLITTER = "#KEY_SPLITTER#";
+
+	private static final String CBEFF_NAMESPACE = "http://standards.iso.org/iso-iec/19785/-3/ed-2/";
+
+	private static final String[] FINGERS = { "Left IndexFinger", "Left MiddleFinger", "Left RingFinger",
+			"Left LittleFinger", "Left Thumb", "Right IndexFinger", "Right MiddleFinger", "Right RingFinger",
+			"Right LittleFinger", "Right Thumb" };
+
+	private static final String[] IRISES = { "Left", "Right" };
+
+	private CredentialFixtures() {
+	}
+
+	public static PrivateKeyEntry partnerKey() throws Exception {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream in = CredentialFixtures.class.getClassLoader().getResourceAsStream(KEYSTORE)) {
+			keyStore.load(in, KEYSTORE_PASSWORD.toCharArray());
+		}
+		KeyStore.ProtectionParameter password = new KeyStore.PasswordProtection(KEYSTORE_PASSWORD.toCharArray());
+		return (PrivateKeyEntry) keyStore.getEntry(KEYSTORE_ALIAS, password);
+	}
+
+	/**
+	 * Encrypts the data the way the credential service does for a partner: a
+	 * fresh AES key wrapped with RSA-OAEP behind the {@code VER_R2} header and
+	 * the certificate thumbprint, then the AES-GCM payload prefixed with its
+	 * AAD, whose first bytes are the nonce.
+	 */
+	public static byte[] encryptForPartner(byte[] data, PrivateKeyEntry partner) throws Exception {
+		SecureRandom random = new SecureRandom();
+		KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+		keyGenerator.init(256, random);
+		SecretKey key = keyGenerator.generateKey();
+
+		PublicKey publicKey = partner.getCertificate().getPublicKey();
+		Cipher rsa = Cipher.getInstance("RSA/ECB/OAEPWITHSHA-256ANDMGF1PADDING");
+		rsa.init(Cipher.ENCRYPT_MODE, publicKey, new OAEPParameterSpec("SHA-256", "MGF1",
+				MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT));
+		byte[] wrappedKey = rsa.doFinal(key.getEncoded());
+		byte[] thumbprint = MessageDigest.getInstance("SHA-256").digest(partner.getCertificate().getEncoded());
+
+		byte[] aad = new byte[32];
+		random.nextBytes(aad);
+		Cipher aes = Cipher.getInstance("AES/GCM/NoPadding");
+		aes.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, aad, 0, 12));
+		aes.updateAAD(aad);
+		byte[] cipherText = aes.doFinal(data);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 512);
+		out.write(CryptoCoreUtil.VERSION_RSA_2048);
+		out.write(thumbprint);
+		out.write(wrappedKey);
+		out.write(KEY_SPLITTER.getBytes(StandardCharsets.UTF_8));
+		out.write(aad);
+		out.write(cipherText);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Encrypts the value with a key derived from the PIN, laid out as
+	 * {@code salt | nonce | cipher text} and URL safe base64 encoded.
+	 */
+	public static String encryptWithPin(String value, String pin, int iterations) throws Exception {
+		SecureRandom random = new SecureRandom();
+		byte[] salt = new byte[32];
+		random.nextBytes(salt);
+		byte[] nonce = new byte[12];
+		random.nextBytes(nonce);
+		SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+		byte[] derived = factory.generateSecret(new PBEKeySpec(pin.toCharArray(), salt, iterations, 256)).getEncoded();
+		Cipher aes = Cipher.getInstance("AES/GCM/NoPadding");
+		aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(derived, "AES"), new GCMParameterSpec(128, nonce));
+		aes.updateAAD(salt);
+		byte[] cipherText = aes.doFinal(value.getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(salt);
+		out.write(nonce);
+		out.write(cipherText);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+	}
+
+	/**
+	 * Draws a passport style portrait: a lit background, a head and shoulders
+	 * silhouette and sensor noise, so the JPEG compresses like a real photo.
+	 */
+	public static byte[] portraitJpeg(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g.setPaint(new GradientPaint(0, 0, new Color(214, 224, 236), 0, height, new Color(160, 176, 196)));
+		g.fillRect(0, 0, width, height);
+		g.setColor(new Color(54, 62, 84));
+		g.fillOval(width / 10, height * 2 / 3, width * 4 / 5, height / 2);
+		g.setColor(new Color(198, 150, 120));
+		g.fillOval(width * 3 / 10, height / 6, width * 2 / 5, height / 2);
+		g.setColor(new Color(60, 40, 30));
+		g.fillArc(width * 3 / 10, height / 7, width * 2 / 5, height / 4, 0, 180);
+		g.dispose();
+		Random random = new Random(42);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int rgb = image.getRGB(x, y);
+				int noise = random.nextInt(9) - 4;
+				int r = clamp(((rgb >> 16) & 0xff) + noise);
+				int gr = clamp(((rgb >> 8) & 0xff) + noise);
+				int b = clamp((rgb & 0xff) + noise);
+				image.setRGB(x, y, (r << 16) | (gr << 8) | b);
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Wraps the JPEG image in an ISO/IEC 19794-5:2011 face record with one
+	 * full frontal representation, no quality blocks and no landmark points.
+	 */
+	public static byte[] faceRecord(byte[] image) throws IOException {
+		int representationLength = 4 + 14 + 1 + 2 + 15 + 1 + 1 + 9 + 4 + image.length;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(representationLength + 17);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.write(new byte[] { 'F', 'A', 'C', 0 });
+		out.write(new byte[] { '0', '3', '0', 0 });
+		out.writeInt(17 + representationLength);
+		out.writeShort(1);
+		out.writeByte(0);
+		out.writeShort(0);
+		out.writeInt(representationLength);
+		out.write(new byte[14]);
+		out.writeByte(0);
+		out.writeShort(0);
+		out.write(new byte[15]);
+		out.writeByte(1);
+		out.writeByte(0);
+		out.write(new byte[9]);
+		out.writeInt(image.length);
+		out.write(image);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Builds the CBEFF document of a full registration: the face record plus
+	 * ten fingers and two irises of random data of typical size.
+	 */
+	public static byte[] cbeffXml(byte[] faceRecord) {
+		Random random = new Random(7);
+		StringBuilder xml = new StringBuilder(faceRecord.length * 2 + 400_000);
+		xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+		xml.append("<BIR xmlns=\"").append(CBEFF_NAMESPACE).append("\">");
+		xml.append("<Version><Major>1</Major><Minor>1</Minor></Version>");
+		xml.append("<CBEFFVersion><Major>1</Major><Minor>1</Minor></CBEFFVersion>");
+		xml.append("<BIRInfo><Integrity>false</Integrity></BIRInfo>");
+		appendBir(xml, "Face", "", 8, faceRecord);
+		for (String finger : FINGERS) {
+			appendBir(xml, "Finger", finger, 7, randomBytes(random, 24_000));
+		}
+		for (String iris : IRISES) {
+			appendBir(xml, "Iris", iris, 9, randomBytes(random, 60_000));
+		}
+		xml.append("</BIR>");
+		return xml.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendBir(StringBuilder xml, String type, String subtype, int formatType, byte[] bdb) {
+		xml.append("<BIR><Version><Major>1</Major><Minor>1</Minor></Version>");
+		xml.append("<CBEFFVersion><Major>1</Major><Minor>1</Minor></CBEFFVersion>");
+		xml.append("<BIRInfo><Integrity>false</Integrity></BIRInfo>");
+		xml.append("<BDBInfo><Format><Organization>Mosip</Organization><Type>").append(formatType)
+				.append("</Type></Format><CreationDate>2021-03-12T10:15:30.512Z</CreationDate>");
+		xml.append("<Type>").append(type).append("</Type><Subtype>").append(subtype).append("</Subtype>");
+		xml.append("<Level>Raw</Level><Purpose>Enroll</Purpose>");
+		xml.append("<Quality><Algorithm><Organization>HMAC</Organization><Type>SHA-256</Type></Algorithm>");
+		xml.append("<Score>80</Score></Quality></BDBInfo>");
+		xml.append("<BDB>").append(Base64.getEncoder().encodeToString(bdb)).append("</BDB></BIR>");
+	}
+
+	public static byte[] resource(String name) throws IOException {
+		try (InputStream in = CredentialFixtures.class.getResourceAsStream(name)) {
+			return IOUtils.toByteArray(in);
+		}
+	}
+
+	private static byte[] randomBytes(Random random, int length) {
+		byte[] bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	private static int clamp(int value) {
+		return Math.max(0, Math.min(255, value));
+	}
+
+}
@@ -0,0 +1,102 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.CryptoCoreUtil;
+import io.mosip.print.util.CryptoEngine;
+import io.mosip.print.util.PartnerKeyManager;
+import io.mosip.print.util.SessionKeyCache;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class CryptoCoreUtilTest {
+
+	private PartnerKeyManager keyManager;
+
+	private CryptoCoreUtil cryptoCoreUtil;
+
+	@Before
+	public void setUp() throws Exception {
+		keyManager = new PartnerKeyManager();
+		ReflectionTestUtils.setField(keyManager, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(keyManager, "fileName", CredentialFixtures.KEYSTORE);
+		ReflectionTestUtils.setField(keyManager, "password", CredentialFixtures.KEYSTORE_PASSWORD);
+		ReflectionTestUtils.setField(keyManager, "alias", CredentialFixtures.KEYSTORE_ALIAS);
+		ReflectionTestUtils.setField(keyManager, "watch", false);
+		keyManager.init();
+		cryptoCoreUtil = new CryptoCoreUtil();
+		ReflectionTestUtils.setField(cryptoCoreUtil, "keyManager", keyManager);
+		ReflectionTestUtils.setField(cryptoCoreUtil, "cryptoEngine", new CryptoEngine());
+		ReflectionTestUtils.setField(cryptoCoreUtil, "sessionKeyCache", new SessionKeyCache());
+		ReflectionTestUtils.setField(cryptoCoreUtil, "isThumbprint", true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		keyManager.shutdown();
+	}
+
+	@Test
+	public void testStreamedDecryptMatchesBuffered() throws Exception {
+		StringBuilder credential = new StringBuilder("{\"biometrics\":\"");
+		while (credential.length() < 300000) {
+			credential.append("UklGRiQAAABXQVZFZm10IBAAAAABAAEARKwAAIhYAQACABAAZGF0YQAAAAA");
+		}
+		credential.append("\"}");
+		byte[] encrypted = encrypt(credential.toString());
+		String url = Base64.getUrlEncoder().encodeToString(encrypted);
+		String mime = Base64.getMimeEncoder().encodeToString(encrypted);
+		assertEquals(credential.toString(), cryptoCoreUtil.decrypt(url));
+		assertEquals(credential.toString(), cryptoCoreUtil.decrypt(stream(url)));
+		assertEquals(credential.toString(), cryptoCoreUtil.decrypt(stream(mime)));
+	}
+
+	@Test
+	public void testRedeliveryDecryptsWithCachedSessionKey() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SessionKeyCache sessionKeyCache = new SessionKeyCache();
+		ReflectionTestUtils.setField(sessionKeyCache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(sessionKeyCache, "enabled", true);
+		ReflectionTestUtils.setField(sessionKeyCache, "maxEntries", 10);
+		ReflectionTestUtils.setField(sessionKeyCache, "ttlSeconds", 300L);
+		sessionKeyCache.init();
+		ReflectionTestUtils.setField(cryptoCoreUtil, "sessionKeyCache", sessionKeyCache);
+		String encoded = Base64.getUrlEncoder().encodeToString(encrypt("{\"UIN\":\"4578312946\"}"));
+		for (int i = 0; i < 3; i++) {
+			assertEquals("{\"UIN\":\"4578312946\"}", cryptoCoreUtil.decrypt(encoded));
+		}
+		assertEquals(2, meterRegistry.counter("print.crypto.session-key.hit").count(), 0);
+	}
+
+	@Test(expected = CryptoManagerException.class)
+	public void testStreamedDecryptOfTamperedDataFails() throws Exception {
+		byte[] encrypted = encrypt("{\"UIN\":\"4578312946\"}");
+		encrypted[encrypted.length - 1] ^= 1;
+		cryptoCoreUtil.decrypt(stream(Base64.getUrlEncoder().encodeToString(encrypted)));
+	}
+
+	private byte[] encrypt(String credential) throws Exception {
+		return CredentialFixtures.encryptForPartner(credential.getBytes(StandardCharsets.UTF_8),
+				keyManager.getDefaultKey());
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+	}
+
+}
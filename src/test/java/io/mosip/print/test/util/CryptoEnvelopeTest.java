@@ -0,0 +1,100 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.CryptoCoreUtil;
+import io.mosip.print.util.CryptoEnvelope;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class CryptoEnvelopeTest {
+
+	private static final byte[] SPLITTER = "#KEY_SPLITTER#".getBytes(StandardCharsets.US_ASCII);
+
+	@Test
+	public void testVersionedEnvelope() throws Exception {
+		byte[] thumbprint = filled(32, 1);
+		byte[] key = filled(256, '#');
+		byte[] data = filled(32 + 100, 3);
+		byte[] envelope = concat(CryptoCoreUtil.VERSION_RSA_2048, thumbprint, key, SPLITTER, data);
+		CryptoEnvelope parsed = CryptoEnvelope.parse(envelope, 0, envelope.length, false);
+		assertTrue(parsed.isVersioned());
+		assertEquals(6, parsed.getThumbprintOffset());
+		assertEquals(38, parsed.getKeyOffset());
+		assertEquals(256, parsed.getKeyLength());
+		int dataOffset = 38 + 256 + SPLITTER.length;
+		assertEquals(dataOffset, parsed.getIvOffset());
+		assertEquals(12, parsed.getIvLength());
+		assertEquals(dataOffset, parsed.getAadOffset());
+		assertEquals(32, parsed.getAadLength());
+		assertEquals(dataOffset + 32, parsed.getCipherTextOffset());
+		assertEquals(100, parsed.getCipherTextLength());
+	}
+
+	@Test
+	public void testUnversionedEnvelopeCarriesIvAtTheEnd() throws Exception {
+		byte[] envelope = concat(filled(256, 2), SPLITTER, filled(50, 3), filled(16, 4));
+		CryptoEnvelope parsed = CryptoEnvelope.parse(envelope, 0, envelope.length, false);
+		assertFalse(parsed.hasThumbprint());
+		assertEquals(256, parsed.getKeyLength());
+		assertEquals(0, parsed.getAadLength());
+		assertEquals(256 + SPLITTER.length, parsed.getCipherTextOffset());
+		assertEquals(50, parsed.getCipherTextLength());
+		assertEquals(envelope.length - 16, parsed.getIvOffset());
+	}
+
+	@Test(expected = CryptoManagerException.class)
+	public void testMissingSplitterIsRejected() {
+		byte[] envelope = filled(400, '#');
+		CryptoEnvelope.parse(envelope, 0, envelope.length, true);
+	}
+
+	@Test
+	public void testBase64DecodesBothAlphabets() {
+		byte[] data = new byte[1000];
+		new Random(7).nextBytes(data);
+		for (int length = 0; length < 8; length++) {
+			byte[] expected = Arrays.copyOf(data, data.length - length);
+			assertDecodes(expected, Base64.getEncoder().encodeToString(expected));
+			assertDecodes(expected, Base64.getUrlEncoder().withoutPadding().encodeToString(expected));
+			assertDecodes(expected, Base64.getMimeEncoder().encodeToString(expected));
+		}
+	}
+
+	private static void assertDecodes(byte[] expected, String text) {
+		byte[] buffer = new byte[CryptoEnvelope.maxDecodedLength(text)];
+		int length = CryptoEnvelope.decodeBase64(text, buffer);
+		assertArrayEquals(expected, Arrays.copyOf(buffer, length));
+	}
+
+	private static byte[] filled(int length, int value) {
+		byte[] bytes = new byte[length];
+		Arrays.fill(bytes, (byte) value);
+		return bytes;
+	}
+
+	private static byte[] concat(byte[]... parts) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			out.write(part);
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,113 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.EventDeduplicationCache;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class EventDeduplicationCacheTest {
+
+	private EventDeduplicationCache cache;
+
+	private AtomicInteger jobs;
+
+	@Before
+	public void setUp() {
+		cache = new EventDeduplicationCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxEntries", 100);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+		cache.init();
+		jobs = new AtomicInteger();
+	}
+
+	@Test
+	public void testInFlightDuplicateAttachesToRunningJob() throws Exception {
+		CompletableFuture<Boolean> running = new CompletableFuture<>();
+		CompletableFuture<Boolean> first = cache.submit(event("id1", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return running;
+		});
+		CompletableFuture<Boolean> second = cache.submit(event("id1", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		});
+		assertSame(first, second);
+		running.complete(true);
+		assertTrue(second.get());
+		assertEquals(1, jobs.get());
+	}
+
+	@Test
+	public void testCompletedDuplicateIsShortCircuitedByTransactionId() throws Exception {
+		cache.submit(event("id1", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		}).get();
+		assertTrue(cache.submit(event("id2", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		}).get());
+		assertEquals(1, jobs.get());
+	}
+
+	@Test
+	public void testFailedJobIsRetried() throws Exception {
+		cache.submit(event("id1", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(false);
+		}).get();
+		assertTrue(cache.submit(event("id1", "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		}).get());
+		assertEquals(2, jobs.get());
+	}
+
+	@Test
+	public void testEvictionForgetsBothKeysOfAnEvent() throws Exception {
+		ReflectionTestUtils.setField(cache, "maxEntries", 2);
+		CompletableFuture<Boolean> running = new CompletableFuture<>();
+		CompletableFuture<Boolean> first = cache.submit(event("id1", "tx1"), e -> running);
+		cache.submit(event("id2", null), e -> new CompletableFuture<>());
+		// two events fit, whatever their number of keys
+		assertSame(first, cache.submit(event("id1", null), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		}));
+		cache.submit(event("id3", null), e -> new CompletableFuture<>());
+		assertTrue(cache.submit(event(null, "tx1"), e -> {
+			jobs.incrementAndGet();
+			return CompletableFuture.completedFuture(true);
+		}).get());
+		assertEquals(1, jobs.get());
+	}
+
+	private EventModel event(String id, String transactionId) {
+		EventModel eventModel = new EventModel();
+		Event event = new Event();
+		event.setId(id);
+		event.setTransactionId(transactionId);
+		eventModel.setEvent(event);
+		return eventModel;
+	}
+
+}
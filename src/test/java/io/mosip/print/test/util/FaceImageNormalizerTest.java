@@ -0,0 +1,86 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.FaceImageNormalizer;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class FaceImageNormalizerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private FaceImageNormalizer normalizer;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		normalizer = new FaceImageNormalizer();
+		ReflectionTestUtils.setField(normalizer, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(normalizer, "dpi", 300);
+		ReflectionTestUtils.setField(normalizer, "widthMm", 35d);
+		ReflectionTestUtils.setField(normalizer, "heightMm", 45d);
+		ReflectionTestUtils.setField(normalizer, "jpegQuality", 0.85f);
+		ReflectionTestUtils.setField(normalizer, "maxEntries", 256);
+		normalizer.init();
+	}
+
+	@Test
+	public void testCaptureIsDownscaledToThePhotoBoxOnce() throws Exception {
+		// over six times the box, decoded subsampled by three
+		byte[] capture = CredentialFixtures.portraitJpeg(2400, 3200);
+		byte[] normalized = normalizer.normalize(capture);
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(normalized));
+		// 35 x 45 mm at 300 dpi is 413 x 531 pixels
+		assertTrue(image.getWidth() <= 413 && image.getHeight() <= 531);
+		assertEquals(398, image.getWidth());
+		assertTrue(normalized.length < capture.length);
+
+		assertSame(normalized, normalizer.normalize(capture.clone()));
+		assertEquals(1, meterRegistry.counter("print.face.normalize.hit").count(), 0);
+		assertEquals(1, meterRegistry.counter("print.face.normalize.miss").count(), 0);
+	}
+
+	@Test
+	public void testSmallJpegIsKeptAndUndecodableImageIsNotNormalized() throws Exception {
+		byte[] capture = CredentialFixtures.portraitJpeg(120, 160);
+		// copied out of the record view, as it is already small enough
+		assertArrayEquals(capture, normalizer.normalize(capture));
+		// the signature box of a JPEG 2000 codestream, which ImageIO cannot read
+		byte[] jpeg2000 = { 0, 0, 0, 12, 'j', 'P', ' ', ' ', 13, 10, (byte) 0x87, 10 };
+		assertNull(normalizer.normalize(jpeg2000));
+		assertNull(normalizer.normalize(jpeg2000));
+		assertEquals(1, meterRegistry.counter("print.face.normalize.hit").count(), 0);
+	}
+
+	@Test
+	public void testImageThatFailsToDecodeIsNotCached() throws Exception {
+		byte[] capture = CredentialFixtures.portraitJpeg(120, 160);
+		// a JPEG signature followed by no valid segment
+		byte[] corrupt = new byte[64];
+		System.arraycopy(capture, 0, corrupt, 0, 3);
+		assertNull(normalizer.normalize(corrupt));
+		assertNull(normalizer.normalize(corrupt));
+		assertEquals(0, meterRegistry.counter("print.face.normalize.hit").count(), 0);
+		assertEquals(2, meterRegistry.counter("print.face.normalize.miss").count(), 0);
+	}
+
+}
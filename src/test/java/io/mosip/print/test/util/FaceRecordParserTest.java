@@ -0,0 +1,181 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.constant.FaceImageDataType;
+import io.mosip.print.exception.BiometricException;
+import io.mosip.print.model.FaceImage;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.FaceRecordParser;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class FaceRecordParserTest {
+
+	/** The signature box of a JP2 file. */
+	private static final byte[] JP2 = { 0, 0, 0, 12, 'j', 'P', ' ', ' ', 13, 10, (byte) 0x87, 10 };
+
+	@Test
+	public void testImageIsAViewOfThe2011Record() throws Exception {
+		byte[] jpeg = CredentialFixtures.portraitJpeg(120, 160);
+		byte[] record = CredentialFixtures.faceRecord(jpeg);
+		FaceImage image = FaceRecordParser.parseFirst(record);
+		assertEquals(FaceImageDataType.JPEG, image.getImageDataType());
+		ByteBuffer imageData = image.getImageData();
+		assertSame(record, imageData.array());
+		assertEquals(record.length - jpeg.length, imageData.arrayOffset() + imageData.position());
+		assertArrayEquals(jpeg, image.toByteArray());
+	}
+
+	@Test
+	public void testEach2005ImageIsFoundPastItsFeaturePoints() throws Exception {
+		byte[] jpeg = image(0xff, 0xd8, 0xff, 40);
+		byte[] jp2 = Arrays.copyOf(JP2, 64);
+		ByteArrayOutputStream images = new ByteArrayOutputStream();
+		writeFacialRecord2005(images, 2, 0, 480, 640, jpeg);
+		writeFacialRecord2005(images, 0, 1, 300, 400, jp2);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.write(new byte[] { 'F', 'A', 'C', 0, '0', '1', '0', 0 });
+		out.writeInt(14 + images.size());
+		out.writeShort(2);
+		images.writeTo(out);
+
+		List<FaceImage> parsed = FaceRecordParser.parse(ByteBuffer.wrap(bytes.toByteArray()));
+		assertEquals(2, parsed.size());
+		assertEquals(FaceImageDataType.JPEG, parsed.get(0).getImageDataType());
+		assertEquals(480, parsed.get(0).getWidth());
+		assertEquals(640, parsed.get(0).getHeight());
+		assertArrayEquals(jpeg, parsed.get(0).toByteArray());
+		assertEquals(FaceImageDataType.JPEG2000, parsed.get(1).getImageDataType());
+		assertArrayEquals(jp2, parsed.get(1).toByteArray());
+	}
+
+	@Test
+	public void test39794RepresentationsWithout2DImageAreLeftOut() throws Exception {
+		byte[] png = image(0x89, 'P', 'N', 300);
+		byte[] jpeg = image(0xff, 0xd8, 0xff, 60);
+		byte[] version = der(0xa0, der(0x80, 3), der(0x81, 0x07, 0xe3));
+		byte[] shape3D = der(0x30, der(0x80, 1), der(0xa1, der(0xa1, der(0x80, 1, 2, 3))));
+		byte[] pngBlock = der(0x30, der(0x80, 2), der(0xa1, der(0xa0, der(0x80, png),
+				der(0xa1, der(0xa0, der(0x80, 5)), der(0xa7, der(0x80, 0x01, 0x9d), der(0x81, 0x02, 0x13))))),
+				der(0xa2, der(0x80, 0)));
+		// no image size, and the format only known from the image
+		byte[] jpegBlock = der(0x30, der(0x80, 3),
+				der(0xa1, der(0xa0, der(0x80, jpeg), der(0xa1, der(0xa0, der(0x80, 0))))));
+		byte[] record = der(0x65, version, der(0xa1, shape3D, pngBlock, jpegBlock));
+
+		List<FaceImage> parsed = FaceRecordParser.parse(ByteBuffer.wrap(record));
+		assertEquals(2, parsed.size());
+		assertEquals(FaceImageDataType.PNG, parsed.get(0).getImageDataType());
+		assertEquals(413, parsed.get(0).getWidth());
+		assertEquals(531, parsed.get(0).getHeight());
+		assertArrayEquals(png, parsed.get(0).toByteArray());
+		assertEquals(FaceImageDataType.JPEG, parsed.get(1).getImageDataType());
+		assertEquals(0, parsed.get(1).getWidth());
+		assertArrayEquals(jpeg, parsed.get(1).toByteArray());
+	}
+
+	@Test
+	public void testInconsistentLengthsAreRejected() throws Exception {
+		byte[] record = CredentialFixtures.faceRecord(image(0xff, 0xd8, 0xff, 40));
+		// truncated: the record length is past the end
+		assertRejected(Arrays.copyOf(record, record.length - 1));
+		// the image length is past the representation
+		byte[] longImage = record.clone();
+		longImage[17 + 4 + 14 + 1 + 2 + 15 + 1 + 1 + 9 + 3]++;
+		assertRejected(longImage);
+		// more landmark points than the representation holds
+		byte[] landmarks = record.clone();
+		landmarks[17 + 4 + 14 + 1] = 1;
+		assertRejected(landmarks);
+		// an unknown version
+		byte[] version = record.clone();
+		version[5] = '2';
+		assertRejected(version);
+		// a DER length past the end of the block
+		assertRejected(new byte[] { 0x65, 0x06, (byte) 0xa1, 0x04, 0x30, 0x10, 0, 0 });
+	}
+
+	private static void assertRejected(byte[] record) {
+		try {
+			FaceRecordParser.parse(ByteBuffer.wrap(record));
+			throw new AssertionError("malformed record was parsed");
+		} catch (BiometricException expected) {
+			// rejected before any image is read
+		}
+	}
+
+	private static void writeFacialRecord2005(ByteArrayOutputStream images, int featurePoints, int imageDataType,
+			int width, int height, byte[] image) throws IOException {
+		DataOutputStream out = new DataOutputStream(images);
+		out.writeInt(20 + featurePoints * 8 + 12 + image.length);
+		out.writeShort(featurePoints);
+		out.write(new byte[14]);
+		out.write(new byte[featurePoints * 8]);
+		out.writeByte(1);
+		out.writeByte(imageDataType);
+		out.writeShort(width);
+		out.writeShort(height);
+		out.write(new byte[6]);
+		out.write(image);
+	}
+
+	/** An image of the given length starting with a signature. */
+	private static byte[] image(int first, int second, int third, int length) {
+		byte[] image = new byte[length];
+		for (int i = 0; i < length; i++) {
+			image[i] = (byte) (i * 31);
+		}
+		image[0] = (byte) first;
+		image[1] = (byte) second;
+		image[2] = (byte) third;
+		if (first == 0x89) {
+			// the rest of the PNG signature
+			System.arraycopy(new byte[] { 'G', 13, 10, 26, 10 }, 0, image, 3, 5);
+		}
+		return image;
+	}
+
+	private static byte[] der(int tag, int... value) {
+		byte[] bytes = new byte[value.length];
+		for (int i = 0; i < value.length; i++) {
+			bytes[i] = (byte) value[i];
+		}
+		return der(tag, bytes);
+	}
+
+	private static byte[] der(int tag, byte[]... values) {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		for (byte[] value : values) {
+			content.write(value, 0, value.length);
+		}
+		ByteArrayOutputStream element = new ByteArrayOutputStream();
+		element.write(tag);
+		int length = content.size();
+		if (length < 0x80) {
+			element.write(length);
+		} else {
+			element.write(0x82);
+			element.write(length >> 8);
+			element.write(length);
+		}
+		element.write(content.toByteArray(), 0, length);
+		return element.toByteArray();
+	}
+
+}
@@ -0,0 +1,71 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.model.CredentialDocument;
+import io.mosip.print.model.IdentityMappingPlan;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.JsonUtil;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class IdentityMappingPlanTest {
+
+	private static final String CREDENTIAL = "{\"credentialSubject\":{"
+			+ "\"fullName\":[{\"language\":\"eng\",\"value\":\"Ana\"},{\"language\":\"ara\",\"value\":\"Ana-ar\"},"
+			+ "{\"language\":\"tam\",\"value\":\"Ana-ta\"}],"
+			+ "\"gender\":\"[{\\\"language\\\":\\\"eng\\\",\\\"value\\\":\\\"Female\\\"}]\","
+			+ "\"proofOfAddress\":{\"value\":\"proofOfAddress\",\"format\":\"pdf\"},"
+			+ "\"dateOfBirth\":\"1990/01/01\",\"age\":31,\"addressLine2\":\"[not json\",\"email\":null}}";
+
+	private IdentityMappingPlan plan;
+
+	@Before
+	public void setUp() throws Exception {
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream("RegistrationProcessorIdentity.json")) {
+			String mapping = IOUtils.toString(in, StandardCharsets.UTF_8);
+			plan = IdentityMappingPlan.compile(JsonUtil.readTree(mapping).path("identity"), "eng,ara");
+		}
+	}
+
+	@Test
+	public void testCommaSeparatedValuesAreCompiledToOneAttributeEach() {
+		assertEquals("fullName", plan.getAttributes().get(0));
+		assertEquals(25, plan.getAttributes().size());
+		assertEquals("addressLine2", plan.getAttributes().get(13));
+	}
+
+	@Test
+	public void testEachShapeIsCopied() throws Exception {
+		Map<String, Object> attributes = new HashMap<>();
+		plan.apply(CredentialDocument.parse(CREDENTIAL), attributes);
+		plan.apply(CredentialDocument.parse(CREDENTIAL), attributes);
+
+		assertEquals("Ana", attributes.get("fullName_eng"));
+		assertEquals("Ana-ar", attributes.get("fullName_ara"));
+		assertFalse(attributes.containsKey("fullName_tam"));
+		assertEquals("Female", attributes.get("gender_eng"));
+		assertEquals("proofOfAddress", attributes.get("proofOfAddress"));
+		assertEquals("1990/01/01", attributes.get("dateOfBirth"));
+		assertEquals("31", attributes.get("age"));
+		assertEquals("[not json", attributes.get("addressLine2"));
+		assertFalse(attributes.containsKey("email"));
+		assertNull(attributes.get("phone"));
+		assertEquals(7, attributes.size());
+	}
+
+}
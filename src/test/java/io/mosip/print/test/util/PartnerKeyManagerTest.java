@@ -0,0 +1,103 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyStore.PrivateKeyEntry;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.CryptoCoreUtil;
+import io.mosip.print.util.CryptoEngine;
+import io.mosip.print.util.PartnerKeyManager;
+import io.mosip.print.util.SessionKeyCache;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class PartnerKeyManagerTest {
+
+	private Path keystore;
+
+	private PartnerKeyManager keyManager;
+
+	@Before
+	public void setUp() throws Exception {
+		keystore = Files.createTempFile("partner", ".p12");
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream(CredentialFixtures.KEYSTORE)) {
+			Files.copy(in, keystore, StandardCopyOption.REPLACE_EXISTING);
+		}
+		keyManager = new PartnerKeyManager();
+		ReflectionTestUtils.setField(keyManager, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(keyManager, "fileName", "file:" + keystore);
+		ReflectionTestUtils.setField(keyManager, "password", CredentialFixtures.KEYSTORE_PASSWORD);
+		ReflectionTestUtils.setField(keyManager, "alias", CredentialFixtures.KEYSTORE_ALIAS);
+		ReflectionTestUtils.setField(keyManager, "watch", false);
+		keyManager.init();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		keyManager.shutdown();
+		Files.deleteIfExists(keystore);
+	}
+
+	@Test
+	public void testKeySelectedByThumbprint() {
+		PrivateKeyEntry key = keyManager.getDefaultKey();
+		byte[] thumbprint = CryptoCoreUtil.getCertificateThumbprint(key.getCertificate());
+		assertSame(key, keyManager.getKey(thumbprint));
+	}
+
+	@Test
+	public void testUnknownThumbprintFallsBackToDefaultKey() {
+		assertSame(keyManager.getDefaultKey(), keyManager.getKey(new byte[32]));
+	}
+
+	@Test
+	public void testReloadReplacesKeys() {
+		PrivateKeyEntry before = keyManager.getDefaultKey();
+		assertTrue(keyManager.reload());
+		PrivateKeyEntry after = keyManager.getDefaultKey();
+		assertNotSame(before, after);
+		assertArrayEquals(before.getPrivateKey().getEncoded(), after.getPrivateKey().getEncoded());
+	}
+
+	@Test
+	public void testFailedReloadKeepsLoadedKeys() throws Exception {
+		PrivateKeyEntry before = keyManager.getDefaultKey();
+		Files.write(keystore, "not a keystore".getBytes(StandardCharsets.UTF_8));
+		assertFalse(keyManager.reload());
+		assertSame(before, keyManager.getDefaultKey());
+	}
+
+	@Test
+	public void testDecryptUsesKeyOfThumbprint() throws Exception {
+		CryptoCoreUtil cryptoCoreUtil = new CryptoCoreUtil();
+		ReflectionTestUtils.setField(cryptoCoreUtil, "keyManager", keyManager);
+		ReflectionTestUtils.setField(cryptoCoreUtil, "cryptoEngine", new CryptoEngine());
+		ReflectionTestUtils.setField(cryptoCoreUtil, "sessionKeyCache", new SessionKeyCache());
+		ReflectionTestUtils.setField(cryptoCoreUtil, "isThumbprint", true);
+		byte[] encrypted = CredentialFixtures.encryptForPartner("{\"UIN\":\"4578312946\"}".getBytes(StandardCharsets.UTF_8),
+				keyManager.getDefaultKey());
+		assertEquals("{\"UIN\":\"4578312946\"}", cryptoCoreUtil.decrypt(Base64.encodeBase64URLSafeString(encrypted)));
+	}
+
+}
@@ -0,0 +1,100 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.exception.CryptoManagerException;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.ProtectedAttributes;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class ProtectedAttributesTest {
+
+	private ExecutorService executor;
+
+	private List<String> decrypted;
+
+	@Before
+	public void setUp() {
+		executor = Executors.newFixedThreadPool(3);
+		decrypted = new CopyOnWriteArrayList<>();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testOnlyReadAttributesAreDecryptedOnce() {
+		ProtectedAttributes attributes = attributes((value, pin) -> {
+			decrypted.add(value);
+			return "plain-" + value;
+		});
+		attributes.prefetch(Arrays.asList("fullName", "gender"));
+		assertEquals("plain-enc-fullName", attributes.get("fullName"));
+		assertEquals("plain-enc-fullName", attributes.get("fullName"));
+		assertFalse(attributes.isProtected("gender"));
+		assertNull(attributes.get("gender"));
+		assertEquals(Collections.singletonList("enc-fullName"), decrypted);
+	}
+
+	@Test
+	public void testAttributesAreDecryptedInParallel() {
+		CountDownLatch allStarted = new CountDownLatch(3);
+		ProtectedAttributes attributes = attributes((value, pin) -> {
+			allStarted.countDown();
+			try {
+				// completes only if the three decryptions run at the same time
+				assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return value;
+		});
+		attributes.prefetch(attributes.getNames());
+		assertEquals("enc-addressLine1", attributes.get("addressLine1"));
+		assertTrue(attributes.getCpuNanos() >= 0);
+	}
+
+	@Test(expected = CryptoManagerException.class)
+	public void testDecryptionFailureReachesTheReader() {
+		ProtectedAttributes attributes = attributes((value, pin) -> {
+			throw new CryptoManagerException("PRT-PRN-027", "Invalid key");
+		});
+		attributes.prefetch(Collections.singleton("fullName"));
+		assertFalse(attributes.getNames().isEmpty());
+		attributes.get("fullName");
+	}
+
+	private ProtectedAttributes attributes(BiFunction<String, String, String> decryptor) {
+		Map<String, String> encrypted = new LinkedHashMap<>();
+		for (String name : Arrays.asList("fullName", "dateOfBirth", "addressLine1")) {
+			encrypted.put(name, "enc-" + name);
+		}
+		return new ProtectedAttributes(encrypted, "482913", decryptor, executor);
+	}
+
+}
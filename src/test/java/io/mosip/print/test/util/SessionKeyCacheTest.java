@@ -0,0 +1,92 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.security.PrivateKey;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.SessionKeyCache;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class SessionKeyCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private SessionKeyCache cache;
+
+	private PrivateKey privateKey;
+
+	private byte[] sessionKey;
+
+	@Before
+	public void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = cache(100, 300L);
+		privateKey = CredentialFixtures.partnerKey().getPrivateKey();
+		sessionKey = new byte[32];
+		Arrays.fill(sessionKey, (byte) 7);
+	}
+
+	@Test
+	public void testRedeliveredWrappedKeyIsNotUnwrappedAgain() {
+		byte[] data = wrapped(1);
+		assertNull(cache.get(privateKey, data, 6, 256));
+		cache.put(privateKey, data, 6, 256, sessionKey);
+		byte[] cached = cache.get(privateKey, data.clone(), 6, 256);
+		assertArrayEquals(sessionKey, cached);
+		assertNotSame(sessionKey, cached);
+		assertEquals(1, meterRegistry.counter("print.crypto.session-key.hit").count(), 0);
+		assertEquals(1, meterRegistry.counter("print.crypto.session-key.miss").count(), 0);
+	}
+
+	@Test
+	public void testOtherPrivateKeyDoesNotGetTheSessionKey() throws Exception {
+		byte[] data = wrapped(1);
+		cache.put(privateKey, data, 6, 256, sessionKey);
+		assertNull(cache.get(CredentialFixtures.partnerKey().getPrivateKey(), data, 6, 256));
+	}
+
+	@Test
+	public void testExpiredAndEvictedKeysAreForgotten() {
+		cache = cache(1, 300L);
+		cache.put(privateKey, wrapped(1), 6, 256, sessionKey);
+		cache.put(privateKey, wrapped(2), 6, 256, sessionKey);
+		assertNull(cache.get(privateKey, wrapped(1), 6, 256));
+		assertArrayEquals(sessionKey, cache.get(privateKey, wrapped(2), 6, 256));
+
+		cache = cache(100, 0L);
+		cache.put(privateKey, wrapped(1), 6, 256, sessionKey);
+		assertNull(cache.get(privateKey, wrapped(1), 6, 256));
+	}
+
+	private SessionKeyCache cache(int maxEntries, long ttlSeconds) {
+		SessionKeyCache cache = new SessionKeyCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", ttlSeconds);
+		cache.init();
+		return cache;
+	}
+
+	/** A header and a 256 byte wrapped key. */
+	private static byte[] wrapped(int seed) {
+		byte[] data = new byte[6 + 256 + 14];
+		Arrays.fill(data, 6, 6 + 256, (byte) seed);
+		return data;
+	}
+
+}
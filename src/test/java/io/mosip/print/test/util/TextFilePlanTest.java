@@ -0,0 +1,65 @@
+package io.mosip.print.test.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import io.mosip.print.model.CredentialDocument;
+import io.mosip.print.model.TextFilePlan;
+import io.mosip.print.test.TestBootApplication;
+import io.mosip.print.util.JsonUtil;
+
+@SpringBootTest(classes = TestBootApplication.class)
+@RunWith(SpringRunner.class)
+public class TextFilePlanTest {
+
+	private static final String CREDENTIAL = "{\"credentialSubject\":{"
+			+ "\"fullName\":[{\"language\":\"eng\",\"value\":\"Ana \\\"A\\\" Diaz\"},{\"language\":\"fra\",\"value\":\"Ana\"}],"
+			+ "\"addressLine1\":{\"value\":\"14 Rue des Oliviers\"},\"city\":[{\"language\":\"ara\",\"value\":\"\u0627\"}],"
+			+ "\"postalCode\":14000,\"phone\":\"9876543210\",\"biometrics\":\"PGJpcj4=\"}}";
+
+	private TextFilePlan plan;
+
+	@Before
+	public void setUp() throws Exception {
+		try (InputStream in = getClass().getClassLoader().getResourceAsStream("printTextFileJson.json")) {
+			plan = TextFilePlan.compile(JsonUtil.readTree(IOUtils.toString(in, StandardCharsets.UTF_8)), "eng,ara");
+		}
+	}
+
+	@Test
+	public void testLayoutIsCompiledOnce() {
+		assertEquals(Arrays.asList("fullName", "LastName", "addressLine1", "addressLine2", "addressLine3", "region",
+				"province", "city", "postalCode", "phone"), plan.getAttributes());
+	}
+
+	@Test
+	public void testTextFileIsWrittenAsPrettyUtf8Json() throws Exception {
+		String expected = "{\n"
+				+ "  \"fullName_eng\": \"Ana \\\"A\\\" Diaz\",\n"
+				+ "  \"LastName\": null,\n"
+				+ "  \"addressLine1\": \"14 Rue des Oliviers\",\n"
+				+ "  \"addressLine2\": null,\n"
+				+ "  \"addressLine3\": null,\n"
+				+ "  \"region\": null,\n"
+				+ "  \"province\": null,\n"
+				+ "  \"city_ara\": \"\u0627\",\n"
+				+ "  \"postalCode\": \"14000\",\n"
+				+ "  \"phone\": \"9876543210\"\n"
+				+ "}";
+		CredentialDocument document = CredentialDocument.parse(CREDENTIAL);
+		assertEquals(expected, new String(plan.write(document), StandardCharsets.UTF_8));
+		// the pooled buffer is cleared and reused
+		assertEquals(expected, new String(plan.write(document), StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,162 @@
+package io.mosip.print.test.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.print.model.Event;
+import io.mosip.print.model.EventModel;
+import io.mosip.print.model.PrintJobContext;
+import io.mosip.print.service.impl.PlatformPrintThreadFactory;
+import io.mosip.print.service.impl.PrintPipelineImpl;
+import io.mosip.print.service.impl.VirtualPrintThreadFactory;
+import io.mosip.print.spi.PrintStage;
+import io.mosip.print.spi.PrintThreadFactory;
+
+/**
+ * Compares the platform and virtual thread models on the print pipeline with
+ * stages that stand in for the real ones: blocking waits for the datashare
+ * GET, PDF signing and the websub/audit calls, and a short busy loop for the
+ * rendering. Reports throughput, latency and the peak number of live threads.
+ * <p>
+ * Run with
+ * {@code mvn -Pjdk21 test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.mosip.print.test.benchmark.ThreadModelBenchmark -Dexec.args="5000 50"}
+ * where the arguments are the number of jobs and the datashare latency in
+ * milliseconds.
+ */
+public class ThreadModelBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int fetchMillis = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		PlatformPrintThreadFactory platform = new PlatformPrintThreadFactory();
+		VirtualPrintThreadFactory virtual = new VirtualPrintThreadFactory();
+		ReflectionTestUtils.setField(virtual, "platformPrintThreadFactory", platform);
+
+		System.out.printf("%-10s %8s %8s %10s %10s %10s %10s%n", "model", "io-pool", "jobs", "wall-ms", "jobs/s",
+				"p99-ms", "peak-thr");
+		run("platform", platform, 16, jobs, fetchMillis);
+		run("platform", platform, 1000, jobs, fetchMillis);
+		run("virtual", virtual, 1000, jobs, fetchMillis);
+		run("virtual", virtual, 10000, jobs, fetchMillis);
+	}
+
+	private static void run(String model, PrintThreadFactory threads, int ioConcurrency, int jobs, int fetchMillis)
+			throws Exception {
+		PrintPipelineImpl pipeline = new PrintPipelineImpl();
+		ReflectionTestUtils.setField(pipeline, "stageBeans",
+				Arrays.asList(new BlockingStage("fetch", 100, fetchMillis), new ComputeStage("pdfRender", 900, 200),
+						new BlockingStage("pdfSign", 1000, fetchMillis / 2),
+						new BlockingStage("publish", 1200, fetchMillis / 5)));
+		ReflectionTestUtils.setField(pipeline, "env", new MockEnvironment());
+		ReflectionTestUtils.setField(pipeline, "printThreadFactory", threads);
+		ReflectionTestUtils.setField(pipeline, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(pipeline, "ioConcurrency", ioConcurrency);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", jobs);
+		ReflectionTestUtils.setField(pipeline, "shutdownTimeoutSeconds", 30);
+		pipeline.init();
+
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		threadBean.resetPeakThreadCount();
+		long[] latencies = new long[jobs];
+		List<CompletableFuture<Boolean>> results = new ArrayList<>(jobs);
+		long start = System.nanoTime();
+		for (int i = 0; i < jobs; i++) {
+			final int job = i;
+			final long submitted = System.nanoTime();
+			results.add(pipeline.submit(event(i))
+					.whenComplete((printed, error) -> latencies[job] = System.nanoTime() - submitted));
+		}
+		CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.MINUTES);
+		long wall = System.nanoTime() - start;
+		pipeline.shutdown();
+
+		Arrays.sort(latencies);
+		System.out.printf("%-10s %8d %8d %10d %10.0f %10d %10d%n", model, ioConcurrency, jobs,
+				TimeUnit.NANOSECONDS.toMillis(wall), jobs / (wall / 1e9),
+				TimeUnit.NANOSECONDS.toMillis(latencies[(int) (jobs * 0.99) - 1]), threadBean.getPeakThreadCount());
+	}
+
+	private static EventModel event(int i) {
+		EventModel eventModel = new EventModel();
+		Event event = new Event();
+		event.setId("bench-" + i);
+		eventModel.setEvent(event);
+		return eventModel;
+	}
+
+	private static class BlockingStage extends NamedStage {
+
+		private final long millis;
+
+		private BlockingStage(String name, int order, long millis) {
+			super(name, order, StageType.IO);
+			this.millis = millis;
+		}
+
+		@Override
+		public void process(PrintJobContext context) throws Exception {
+			Thread.sleep(millis);
+		}
+
+	}
+
+	private static class ComputeStage extends NamedStage {
+
+		private final long micros;
+
+		private ComputeStage(String name, int order, long micros) {
+			super(name, order, StageType.CPU);
+			this.micros = micros;
+		}
+
+		@Override
+		public void process(PrintJobContext context) {
+			long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(micros);
+			while (System.nanoTime() < end) {
+				Thread.onSpinWait();
+			}
+		}
+
+	}
+
+	private abstract static class NamedStage implements PrintStage {
+
+		private final String name;
+
+		private final int order;
+
+		private final StageType type;
+
+		private NamedStage(String name, int order, StageType type) {
+			this.name = name;
+			this.order = order;
+			this.type = type;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public StageType getType() {
+			return type;
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+
+	}
+
+}